@@ -0,0 +1,71 @@
+package benchmarks;
+
+import Model.BitPackedGameOfLife;
+import Model.Coordinate;
+import Model.GameOfLife;
+import Model.HashLifeGameOfLife;
+import Model.InitialStates;
+import Model.Percolation;
+import Model.Segregation;
+import Model.Simulation;
+import Model.SpreadingFire;
+import Model.WaTor;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds the random boards the benchmarks run on. Every board is drawn from a fixed seed, so each
+ * fork and each iteration of a benchmark starts from the same board.
+ */
+final class Boards {
+
+  static final long SEED = 308;
+  private static final double PROB_CATCH = 0.5;
+  private static final double THRESHOLD = 0.3;
+  private static final int FISH_CHRONON = 3;
+  private static final int SHARK_CHRONON = 6;
+
+  private Boards() {
+  }
+
+  /**
+   * @param type simulation to build, named as in the `type` tag of the XML files
+   * @param size number of rows and of columns of the board
+   * @return a simulation on a random board with a realistic mix of states for its type
+   */
+  static Simulation create(String type, int size) {
+    return switch (type) {
+      case "GameOfLife" -> new GameOfLife(size, size, setup(size, 0.75, 0.25));
+      case "BitPackedGameOfLife" -> new BitPackedGameOfLife(size, size, setup(size, 0.75, 0.25));
+      case "HashLifeGameOfLife" -> new HashLifeGameOfLife(size, size, setup(size, 0.75, 0.25));
+      case "Percolation" -> new Percolation(size, size, setup(size, 0.55, 0.01, 0.44));
+      case "SpreadingFire" -> new SpreadingFire(size, size, setup(size, 0.9, 0.01, 0.09),
+          PROB_CATCH, SEED);
+      case "Segregation" -> new Segregation(size, size, setup(size, 0.1, 0.45, 0.45), THRESHOLD);
+      case "WaTor" -> new WaTor(size, size, setup(size, 0.6, 0.3, 0.1), FISH_CHRONON,
+          SHARK_CHRONON);
+      default -> throw new IllegalArgumentException("Unknown simulation " + type);
+    };
+  }
+
+  /**
+   * @param size    number of rows and of columns of the board
+   * @param weights probability of every state, indexed by the state's integer code
+   * @return map from every position of the board to a random state code, backed by an array of
+   * byte codes as `XMLParser` hands boards to simulations
+   */
+  static Map<Coordinate, Integer> setup(int size, double... weights) {
+    Random random = new Random(SEED);
+    byte[] states = new byte[size * size];
+    for (int i = 0; i < states.length; i++) {
+      double draw = random.nextDouble();
+      int state = 0;
+      while (state < weights.length - 1 && draw >= weights[state]) {
+        draw -= weights[state];
+        state++;
+      }
+      states[i] = (byte) state;
+    }
+    return new InitialStates(size, size, states);
+  }
+}
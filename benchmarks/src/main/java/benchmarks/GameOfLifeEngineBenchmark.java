@@ -0,0 +1,68 @@
+package benchmarks;
+
+import Model.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways of stepping the Game of Life on the same boards: cell objects, double buffered
+ * state arrays, parallel row bands, incremental stepping, and the bit packed and HashLife engines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class GameOfLifeEngineBenchmark {
+
+  @Param({"objects", "buffered", "parallel", "incremental", "bitPacked", "hashLife"})
+  public String engine;
+
+  @Param({"100", "1000", "4096"})
+  public int size;
+
+  private Simulation simulation;
+
+  @Setup(Level.Iteration)
+  public void createSimulation() {
+    switch (engine) {
+      case "bitPacked" -> simulation = Boards.create("BitPackedGameOfLife", size);
+      case "hashLife" -> simulation = Boards.create("HashLifeGameOfLife", size);
+      default -> {
+        simulation = Boards.create("GameOfLife", size);
+        if (!engine.equals("objects")) {
+          simulation.setDoubleBuffered(true);
+        }
+        if (engine.equals("parallel")) {
+          simulation.setParallelism(Runtime.getRuntime().availableProcessors());
+        } else if (engine.equals("incremental")) {
+          simulation.setIncremental(true);
+        }
+      }
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void releaseThreads() {
+    simulation.setParallelism(1);
+  }
+
+  @Benchmark
+  public Simulation update() {
+    simulation.update();
+    return simulation;
+  }
+}
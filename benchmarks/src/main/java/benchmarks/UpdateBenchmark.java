@@ -0,0 +1,51 @@
+package benchmarks;
+
+import Model.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one `update()` of every simulation's per-cell engine across board sizes. Game of Life
+ * always runs on `GameOfLife` here, even on boards where `XMLParser` would pick the bit-packed
+ * engine; `GameOfLifeEngineBenchmark` compares the engines. The board is rebuilt before every
+ * iteration so that all iterations measure the same stretch of the run instead of a board that has
+ * settled. Run with `-prof gc` for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class UpdateBenchmark {
+
+  @Param({"GameOfLife", "Percolation", "SpreadingFire", "Segregation", "WaTor"})
+  public String type;
+
+  @Param({"10", "100", "1000", "4096"})
+  public int size;
+
+  private Simulation simulation;
+
+  @Setup(Level.Iteration)
+  public void createSimulation() {
+    simulation = Boards.create(type, size);
+  }
+
+  @Benchmark
+  public Simulation update() {
+    simulation.update();
+    return simulation;
+  }
+}
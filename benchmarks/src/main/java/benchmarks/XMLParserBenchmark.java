@@ -0,0 +1,98 @@
+package benchmarks;
+
+import Controller.XMLParser;
+import Model.Simulation;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and saving a model through `XMLParser`: parsing a file, creating the simulation
+ * from the parsed data, and exporting the last simulation created with `saveGrid(Writer)` to a
+ * `StringWriter` emptied before every call, so the export is measured without any disk I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class XMLParserBenchmark {
+
+  @Param({"GameOfLife", "Percolation", "SpreadingFire", "Segregation", "WaTor"})
+  public String type;
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private XMLParser parser;
+  private Path file;
+  private HashMap<String, String> data;
+  private final StringWriter output = new StringWriter();
+
+  @Setup
+  public void writeFile() throws Exception {
+    parser = new XMLParser();
+    file = Files.createTempFile("cellsociety", ".xml");
+    try (Writer out = Files.newBufferedWriter(file)) {
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+      out.write("<data simulation=\"simulation\">\n");
+      out.write("  <type>" + type + "</type>\n");
+      out.write("  <numberOfColumns>" + size + "</numberOfColumns>\n");
+      out.write("  <numberOfRows>" + size + "</numberOfRows>\n");
+      out.write("  <numberOfCells>" + size * size + "</numberOfCells>\n");
+      out.write("  <seed>" + Boards.SEED + "</seed>\n");
+      out.write("  <grid>");
+      int numberOfStates = type.equals("GameOfLife") ? 2 : 3;
+      Random random = new Random(Boards.SEED);
+      for (int row = 0; row < size; row++) {
+        for (int column = 0; column < size; column++) {
+          out.write(random.nextInt(numberOfStates) + " ");
+        }
+        out.write("\n");
+      }
+      out.write("  </grid>\n</data>\n");
+    }
+    data = parser.parseXML(file.toString());
+    parser.createSimulation(data);
+  }
+
+  @TearDown
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public HashMap<String, String> parseXML() throws Exception {
+    return parser.parseXML(file.toString());
+  }
+
+  @Benchmark
+  public Simulation createSimulation() {
+    return parser.createSimulation(data);
+  }
+
+  @Benchmark
+  public int saveGrid() throws IOException {
+    output.getBuffer().setLength(0);
+    parser.saveGrid(output);
+    return output.getBuffer().length();
+  }
+}
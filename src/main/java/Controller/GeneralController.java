@@ -15,6 +15,11 @@ public abstract class GeneralController {
   private static final String threshold = "threshold";
   private static final String fishChronon = "fishChronon";
   private static final String sharkChronon = "sharkChronon";
+  private static final String seed = "seed";
+  private static final String step = "step";
+  private static final String engine = "engine";
+  private static final String neighborhood = "neighborhood";
+  private static final String edge = "edge";
 
 
   public static final List<String> TAGS = List.of(
@@ -26,6 +31,11 @@ public abstract class GeneralController {
       threshold,
       fishChronon,
       sharkChronon,
+      seed,
+      step,
+      engine,
+      neighborhood,
+      edge,
       grid
   );
 }
\ No newline at end of file
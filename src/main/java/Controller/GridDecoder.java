@@ -0,0 +1,198 @@
+package Controller;
+
+/**
+ * Decodes the text of a `grid` tag into the byte codes of the board's states, one piece of text at
+ * a time, so that the grid can be read while it is streamed from the file without holding its
+ * text. Two encodings are understood:
+ * <ul>
+ *   <li>plain, the default: every number is the state of the next cell in row-major order, and
+ *   any character that is not a digit separates numbers</li>
+ *   <li>run-length, for `encoding="rle"`, following the RLE format of Life patterns: a state
+ *   optionally preceded by a repeat count, where the states are `b` or `.` for 0, `o` for 1, `A`
+ *   to `X` for 1 to 24 and a prefix from `p` to `y` followed by `A` to `X` for 25 onwards. `$`
+ *   ends the row, `n$` ends the row and skips `n - 1` more, and `!` ends the grid. Cells that are
+ *   not given are in state 0, and whitespace is ignored</li>
+ * </ul>
+ * When the number of cells is known ahead of time the states are written into an array of exactly
+ * that size and any extra cells are dropped; otherwise, for plain grids only, the array grows as
+ * needed.
+ */
+class GridDecoder {
+
+  static final String PLAIN = "plain";
+  static final String RUN_LENGTH = "rle";
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int STATES_PER_PREFIX = 24;
+
+  private final boolean runLength;
+  private final int expectedCells;
+  private final int numberOfColumns;
+  private byte[] states;
+  private int count;
+  private int number = -1;
+  private int prefix;
+  private int row;
+  private int column;
+  private boolean ended;
+
+  /**
+   * creates a decoder for a plain grid
+   *
+   * @param expectedCells number of cells of the board, or -1 when it is not known yet
+   */
+  GridDecoder(int expectedCells) {
+    runLength = false;
+    this.expectedCells = expectedCells;
+    numberOfColumns = -1;
+    states = new byte[expectedCells >= 0 ? expectedCells : INITIAL_CAPACITY];
+  }
+
+  /**
+   * creates a decoder for a grid in a given encoding on a board of known dimensions
+   *
+   * @param encoding        `plain` or `rle`
+   * @param numberOfRows    number of rows of the board
+   * @param numberOfColumns number of columns of the board
+   */
+  GridDecoder(String encoding, int numberOfRows, int numberOfColumns) {
+    runLength = isRunLength(encoding);
+    expectedCells = numberOfRows * numberOfColumns;
+    this.numberOfColumns = numberOfColumns;
+    states = new byte[expectedCells];
+  }
+
+  /**
+   * @param encoding the value of the `encoding` attribute of a grid, or null when it has none
+   * @return boolean whether the encoding is run-length
+   * @throws IllegalArgumentException if the encoding is not supported
+   */
+  static boolean isRunLength(String encoding) {
+    if (encoding == null || encoding.equalsIgnoreCase(PLAIN)) {
+      return false;
+    }
+    if (encoding.equalsIgnoreCase(RUN_LENGTH)) {
+      return true;
+    }
+    throw new IllegalArgumentException("Grid encoding not supported: " + encoding);
+  }
+
+  /**
+   * decodes the next piece of the grid's text
+   *
+   * @param text   buffer holding the text
+   * @param start  position of the first character of the piece in the buffer
+   * @param length number of characters in the piece
+   */
+  void decode(char[] text, int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      decode(text[i]);
+    }
+  }
+
+  /**
+   * decodes the next piece of the grid's text
+   *
+   * @param text the text to decode
+   */
+  void decode(CharSequence text) {
+    for (int i = 0; i < text.length(); i++) {
+      decode(text.charAt(i));
+    }
+  }
+
+  private void decode(char c) {
+    if (c >= '0' && c <= '9') {
+      number = (number < 0 ? 0 : number * 10) + (c - '0');
+      if (!runLength && number > Byte.MAX_VALUE) {
+        throw new IllegalArgumentException("State out of range in grid: " + number);
+      }
+      return;
+    }
+    if (runLength) {
+      decodeRunLength(c);
+    } else if (number >= 0) {
+      add((byte) number);
+      number = -1;
+    }
+  }
+
+  private void decodeRunLength(char c) {
+    if (ended || Character.isWhitespace(c)) {
+      return;
+    }
+    int run = Math.max(number, 1);
+    number = -1;
+    if (c >= 'p' && c <= 'y') {
+      prefix = c - 'o';
+      number = run == 1 ? -1 : run;
+      return;
+    }
+    switch (c) {
+      case 'b', '.' -> addRun(0, run);
+      case 'o' -> addRun(1, run);
+      case '$' -> {
+        row += run;
+        column = 0;
+      }
+      case '!' -> ended = true;
+      default -> {
+        if (c < 'A' || c > 'X') {
+          throw new IllegalArgumentException("Unexpected character in RLE grid: " + c);
+        }
+        addRun(prefix * STATES_PER_PREFIX + c - 'A' + 1, run);
+      }
+    }
+    prefix = 0;
+  }
+
+  private void addRun(int state, int run) {
+    if (state > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("State out of range in grid: " + state);
+    }
+    int end = Math.min(column + run, numberOfColumns);
+    if (state != 0) {
+      int rowStart = row * numberOfColumns;
+      for (int i = column; i < end && rowStart + i < states.length; i++) {
+        states[rowStart + i] = (byte) state;
+      }
+    }
+    column = end;
+  }
+
+  private void add(byte state) {
+    if (count == states.length) {
+      if (expectedCells >= 0) {
+        return;
+      }
+      byte[] grown = new byte[states.length * 2];
+      System.arraycopy(states, 0, grown, 0, count);
+      states = grown;
+    }
+    states[count++] = state;
+  }
+
+  /**
+   * getter method for the decoded states of a board, once all of the grid's text was decoded
+   *
+   * @param cells number of cells of the board
+   * @return the byte codes of the states in row-major order, at least one per cell
+   * @throws IllegalArgumentException if the grid held fewer states than the board has cells
+   */
+  byte[] getStates(int cells) {
+    if (runLength) {
+      if (states.length < cells) {
+        throw new IllegalArgumentException("RLE grid decoded for a smaller board");
+      }
+      return states;
+    }
+    if (number >= 0) {
+      add((byte) number);
+      number = -1;
+    }
+    if (count < cells) {
+      throw new IllegalArgumentException(
+          "Grid has " + count + " cells, expected " + cells);
+    }
+    return states;
+  }
+}
@@ -0,0 +1,108 @@
+package Controller;
+
+import Model.Grid;
+import java.io.IOException;
+
+/**
+ * Writes the states of a grid as the text of a `grid` tag, in either of the encodings read by
+ * `GridDecoder`. Plain grids list the byte code of every cell, one row per line. Run-length grids
+ * list runs of equal states, leaving out the cells in state 0 at the end of every row and the empty
+ * rows at the end of the grid, and use `b` and `o` for two-state models as Life patterns do.
+ */
+public class GridEncoder {
+
+  public static final String PLAIN = GridDecoder.PLAIN;
+  public static final String RUN_LENGTH = GridDecoder.RUN_LENGTH;
+  private static final int LINE_LENGTH = 70;
+  private static final int STATES_PER_PREFIX = 24;
+
+  private final Appendable out;
+  private int lineLength;
+
+  private GridEncoder(Appendable out) {
+    this.out = out;
+  }
+
+  /**
+   * writes the states of a grid
+   *
+   * @param grid     the grid to write
+   * @param encoding `plain` or `rle`
+   * @param out      destination of the text
+   * @throws IOException if the text cannot be written
+   */
+  public static void write(Grid grid, String encoding, Appendable out) throws IOException {
+    if (GridDecoder.isRunLength(encoding)) {
+      new GridEncoder(out).writeRunLength(grid);
+    } else {
+      writePlain(grid, out);
+    }
+  }
+
+  private static void writePlain(Grid grid, Appendable out) throws IOException {
+    for (int row = 0; row < grid.getNumberOfRows(); row++) {
+      for (int column = 0; column < grid.getNumberOfColumns(); column++) {
+        byte state = grid.getState(row, column);
+        if (state < 10) {
+          out.append((char) ('0' + state));
+        } else {
+          out.append(Integer.toString(state));
+        }
+        out.append(' ');
+      }
+      out.append('\n');
+    }
+  }
+
+  private void writeRunLength(Grid grid) throws IOException {
+    boolean twoStates = grid.getStateValues().length <= 2;
+    int pendingRows = 0;
+    for (int row = 0; row < grid.getNumberOfRows(); row++) {
+      int column = 0;
+      while (column < grid.getNumberOfColumns()) {
+        byte state = grid.getState(row, column);
+        int end = column + 1;
+        while (end < grid.getNumberOfColumns() && grid.getState(row, end) == state) {
+          end++;
+        }
+        if (state != 0 || end < grid.getNumberOfColumns()) {
+          if (pendingRows > 0) {
+            writeRun(pendingRows, "$");
+            pendingRows = 0;
+          }
+          writeRun(end - column, stateTag(state, twoStates));
+        }
+        column = end;
+      }
+      pendingRows++;
+    }
+    writeItem("!");
+    out.append('\n');
+  }
+
+  private String stateTag(int state, boolean twoStates) {
+    if (twoStates) {
+      return state == 0 ? "b" : "o";
+    }
+    if (state == 0) {
+      return ".";
+    }
+    int prefix = (state - 1) / STATES_PER_PREFIX;
+    char letter = (char) ('A' + (state - 1) % STATES_PER_PREFIX);
+    return prefix == 0 ? String.valueOf(letter) : "" + (char) ('o' + prefix) + letter;
+  }
+
+  private void writeRun(int run, String tag) throws IOException {
+    writeItem(run == 1 ? tag : run + tag);
+  }
+
+  // keeps lines short, breaking them between items as Life patterns do
+  private void writeItem(String item) throws IOException {
+    if (lineLength + item.length() > LINE_LENGTH) {
+      out.append('\n');
+      lineLength = 0;
+    }
+    out.append(item);
+    lineLength += item.length();
+  }
+}
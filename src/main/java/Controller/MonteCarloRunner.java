@@ -0,0 +1,223 @@
+package Controller;
+
+import Model.Coordinate;
+import Model.CoordinatePool;
+import Model.CounterRandom;
+import Model.Grid;
+import Model.PercolationAnalyzer;
+import Model.SpreadingFire;
+import Model.States;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs batches of random trials of a simulation without any GUI, sweeping one parameter over a
+ * range and writing aggregate statistics for every value of the parameter as a line of CSV.
+ * <ul>
+ *   <li>Percolation sweeps the probability that a cell is open. Every open cell of the top row is
+ *   a source, and each board is solved at once with a `PercolationAnalyzer` instead of being
+ *   stepped. The statistics are the fraction of boards with an open cluster spanning from top to
+ *   bottom and the mean fraction of cells that end up percolated</li>
+ *   <li>SpreadingFire sweeps `probCatch` on a forest with a single fire in its center, stepped
+ *   until the fire dies out. The statistics are the mean fraction of cells burned and the mean
+ *   number of steps the fire lasted</li>
+ * </ul>
+ * The trials of every value are split across a pool of threads. Each trial draws its board and its
+ * randomness from a seed derived from the batch seed, the value and the trial number, and the
+ * results are summed in trial order, so a batch seed always produces the same CSV whatever the
+ * number of threads.
+ */
+public class MonteCarloRunner {
+
+  public static final String PERCOLATION = "Percolation";
+  public static final String SPREADING_FIRE = "SpreadingFire";
+  private static final String PERCOLATION_HEADER =
+      "openProbability,trials,percolationProbability,meanPercolatedFraction";
+  private static final String SPREADING_FIRE_HEADER =
+      "probCatch,trials,meanBurnedFraction,meanSteps";
+  private static final byte OPEN = (byte) States.Percolation.OPEN.ordinal();
+  private static final byte PERCOLATED = (byte) States.Percolation.PERCOLATED.ordinal();
+  private static final byte BLOCKED = (byte) States.Percolation.BLOCKED.ordinal();
+  private static final int TREE = States.SpreadingFire.TREE.ordinal();
+  private static final int BURNING = States.SpreadingFire.BURNING.ordinal();
+  private static final byte EMPTY = (byte) States.SpreadingFire.EMPTY.ordinal();
+
+  private final String type;
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final int trials;
+  private final long seed;
+  private final int parallelism;
+
+  /**
+   * @param type            simulation to run, either `Percolation` or `SpreadingFire`
+   * @param numberOfRows    number of rows of every board
+   * @param numberOfColumns number of columns of every board
+   * @param trials          number of boards run for every value of the parameter
+   * @param seed            seed every board and random draw of the batch is derived from
+   * @param parallelism     number of threads the trials are split across
+   */
+  public MonteCarloRunner(String type, int numberOfRows, int numberOfColumns, int trials,
+      long seed, int parallelism) {
+    if (!type.equals(PERCOLATION) && !type.equals(SPREADING_FIRE)) {
+      throw new IllegalArgumentException("Monte Carlo runs not supported for " + type);
+    }
+    if (trials < 1 || parallelism < 1) {
+      throw new IllegalArgumentException("Trials and parallelism must be at least 1");
+    }
+    this.type = type;
+    this.numberOfRows = numberOfRows;
+    this.numberOfColumns = numberOfColumns;
+    this.trials = trials;
+    this.seed = seed;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * method for sweeping the parameter over evenly spaced values, writing the header and then one
+   * line of statistics per value, flushed as soon as the value's trials are done
+   *
+   * @param from   first value of the parameter
+   * @param to     last value of the parameter
+   * @param points number of values, including both ends of the range
+   * @param out    destination of the CSV
+   * @throws IOException          if the CSV cannot be written
+   * @throws InterruptedException if the thread is interrupted while waiting for trials
+   */
+  public void sweep(double from, double to, int points, Writer out)
+      throws IOException, InterruptedException {
+    if (points < 1) {
+      throw new IllegalArgumentException("A sweep needs at least one point");
+    }
+    out.write((type.equals(PERCOLATION) ? PERCOLATION_HEADER : SPREADING_FIRE_HEADER) + "\n");
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      for (int point = 0; point < points; point++) {
+        double parameter = points == 1 ? from : from + (to - from) * point / (points - 1);
+        double[][] results = runTrials(executor, parameter, CounterRandom.split(seed, point));
+        out.write(toCSVLine(parameter, results));
+        out.flush();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private double[][] runTrials(ExecutorService executor, double parameter, long pointSeed)
+      throws InterruptedException {
+    double[][] results = new double[trials][];
+    List<Future<?>> workers = new ArrayList<>();
+    for (int worker = 0; worker < parallelism; worker++) {
+      int firstTrial = worker;
+      workers.add(executor.submit(() -> {
+        PercolationAnalyzer analyzer = type.equals(PERCOLATION)
+            ? new PercolationAnalyzer(numberOfRows, numberOfColumns) : null;
+        for (int trial = firstTrial; trial < trials; trial += parallelism) {
+          long trialSeed = CounterRandom.split(pointSeed, trial);
+          results[trial] = analyzer != null ? runPercolation(analyzer, parameter, trialSeed)
+              : runSpreadingFire(parameter, trialSeed);
+        }
+      }));
+    }
+    for (Future<?> worker : workers) {
+      try {
+        worker.get();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Monte Carlo trial failed", e.getCause());
+      }
+    }
+    return results;
+  }
+
+  private String toCSVLine(double parameter, double[][] results) {
+    double first = 0;
+    double second = 0;
+    for (double[] result : results) {
+      first += result[0];
+      second += result[1];
+    }
+    return parameter + "," + trials + "," + first / trials + "," + second / trials + "\n";
+  }
+
+  private double[] runPercolation(PercolationAnalyzer analyzer, double openProbability,
+      long trialSeed) {
+    byte[] board = new byte[numberOfRows * numberOfColumns];
+    for (int i = 0; i < board.length; i++) {
+      if (CounterRandom.uniform(trialSeed, 0, i) >= openProbability) {
+        board[i] = BLOCKED;
+      } else {
+        board[i] = i < numberOfColumns ? PERCOLATED : OPEN;
+      }
+    }
+    analyzer.analyze(board);
+    return new double[]{analyzer.percolates() ? 1 : 0,
+        (double) analyzer.countPercolated() / board.length};
+  }
+
+  private double[] runSpreadingFire(double probCatch, long trialSeed) {
+    CoordinatePool coordinates = CoordinatePool.forDimensions(numberOfRows, numberOfColumns);
+    Map<Coordinate, Integer> setup = new HashMap<>();
+    for (int row = 0; row < numberOfRows; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        boolean center = row == numberOfRows / 2 && column == numberOfColumns / 2;
+        setup.put(coordinates.get(row, column), center ? BURNING : TREE);
+      }
+    }
+    SpreadingFire fire = new SpreadingFire(numberOfRows, numberOfColumns, setup, probCatch,
+        trialSeed);
+    fire.setDoubleBuffered(true);
+    fire.setIncremental(true);
+    int steps = 0;
+    while (fire.getActiveCellCount() > 0) {
+      fire.update();
+      steps++;
+    }
+    Grid grid = fire.getGrid();
+    int burned = 0;
+    for (int row = 0; row < numberOfRows; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        if (grid.getState(row, column) == EMPTY) {
+          burned++;
+        }
+      }
+    }
+    return new double[]{(double) burned / (numberOfRows * numberOfColumns), steps};
+  }
+
+  /**
+   * Runs a sweep from the command line, writing the CSV to a file or to standard output
+   *
+   * @param args type, rows, columns, first value, last value, number of values, trials, and
+   *             optionally the seed, the number of threads and the output file
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 7) {
+      System.err.println("usage: MonteCarloRunner <Percolation|SpreadingFire> <rows> <columns> "
+          + "<from> <to> <points> <trials> [seed] [threads] [output.csv]");
+      System.exit(1);
+    }
+    long seed = args.length > 7 ? Long.parseLong(args[7]) : System.nanoTime();
+    int threads = args.length > 8 ? Integer.parseInt(args[8])
+        : Runtime.getRuntime().availableProcessors();
+    MonteCarloRunner runner = new MonteCarloRunner(args[0], Integer.parseInt(args[1]),
+        Integer.parseInt(args[2]), Integer.parseInt(args[6]), seed, threads);
+    Writer out = args.length > 9 ? Files.newBufferedWriter(Path.of(args[9]))
+        : new BufferedWriter(new OutputStreamWriter(System.out));
+    try (out) {
+      runner.sweep(Double.parseDouble(args[3]), Double.parseDouble(args[4]),
+          Integer.parseInt(args[5]), out);
+    }
+  }
+}
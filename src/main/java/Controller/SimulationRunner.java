@@ -0,0 +1,148 @@
+package Controller;
+
+import Model.GridSnapshot;
+import Model.Simulation;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Steps a simulation on a thread of its own, so that a slow step never holds up the thread showing
+ * the simulation. Steps are asked for with `requestSteps` and run in order. After a step, if the
+ * last snapshot was taken, a new `GridSnapshot` of the board is published for `pollSnapshot`, so
+ * the board is only copied as often as it is shown; when the steps run out the final board is
+ * always published. With a snapshot interval of `n`, boards are only published in the middle of a
+ * run after every `n`th step, so that a run of many steps per frame never shows the generations in
+ * between. While steps are pending the simulation must not be touched by any other thread:
+ * `pause` drops the pending steps and waits for the running one to end, after which the
+ * simulation can be read, for instance to export it.
+ */
+public class SimulationRunner {
+
+  private final Simulation simulation;
+  private final AtomicReference<GridSnapshot> latest;
+  private volatile long snapshotInterval = 1;
+  private long pendingSteps;
+  private boolean stepping;
+  private boolean stopped;
+  private long publishedStep;
+
+  /**
+   * creates the runner and starts its thread, which waits for steps to be requested
+   *
+   * @param simulation the simulation to step, which is only stepped by this runner from now on
+   */
+  public SimulationRunner(Simulation simulation) {
+    this.simulation = simulation;
+    latest = new AtomicReference<>(simulation.takeSnapshot());
+    publishedStep = simulation.getStepCount();
+    Thread worker = new Thread(this::run, "simulation-runner");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * queues steps of the simulation after the ones already pending
+   *
+   * @param steps number of steps to add
+   */
+  public synchronized void requestSteps(long steps) {
+    if (steps < 1) {
+      throw new IllegalArgumentException("Must request at least one step");
+    }
+    if (!stopped) {
+      pendingSteps = steps > Long.MAX_VALUE - pendingSteps ? Long.MAX_VALUE : pendingSteps + steps;
+      notifyAll();
+    }
+  }
+
+  /**
+   * sets which steps may be published in the middle of a run
+   *
+   * @param steps boards are only published after steps whose number is a multiple of it
+   */
+  public void setSnapshotInterval(long steps) {
+    if (steps < 1) {
+      throw new IllegalArgumentException("Snapshot interval must be at least one step");
+    }
+    snapshotInterval = steps;
+  }
+
+  /**
+   * @return boolean whether a step is running or pending
+   */
+  public synchronized boolean isBusy() {
+    return stepping || pendingSteps > 0;
+  }
+
+  /**
+   * drops the pending steps and waits for the running step, if any, to end
+   */
+  public synchronized void pause() {
+    pendingSteps = 0;
+    try {
+      while (stepping) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * drops the pending steps and ends the runner's thread once the running step ends
+   */
+  public synchronized void stop() {
+    stopped = true;
+    pendingSteps = 0;
+    notifyAll();
+  }
+
+  /**
+   * takes the newest snapshot published since the last call
+   *
+   * @return the snapshot, or null if none was published since the last call
+   */
+  public GridSnapshot pollSnapshot() {
+    return latest.getAndSet(null);
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        synchronized (this) {
+          stepping = false;
+          notifyAll();
+          while (pendingSteps == 0 && !stopped) {
+            if (simulation.getStepCount() != publishedStep) {
+              publish();
+            }
+            wait();
+          }
+          if (stopped) {
+            return;
+          }
+          pendingSteps--;
+          stepping = true;
+        }
+        simulation.update();
+        if (latest.get() == null && simulation.getStepCount() % snapshotInterval == 0) {
+          publish();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      synchronized (this) {
+        stopped = true;
+        stepping = false;
+        pendingSteps = 0;
+        notifyAll();
+      }
+    }
+  }
+
+  private void publish() {
+    GridSnapshot snapshot = simulation.takeSnapshot();
+    publishedStep = snapshot.getStep();
+    latest.set(snapshot);
+  }
+}
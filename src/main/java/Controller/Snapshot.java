@@ -0,0 +1,216 @@
+package Controller;
+
+import Model.Grid;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary snapshot of a simulation, meant for checkpointing large boards far faster and smaller
+ * than an XML file. A snapshot is a header followed by the states of the cells in row-major order,
+ * packed with as few bits per cell as the number of states allows (1, 2, 4 or 8), lowest bits
+ * first. The header, in big-endian order, holds:
+ * <ul>
+ *   <li>the magic number `CSOC` and the version of the format, as an int and a short</li>
+ *   <li>the number of bits per cell and a reserved byte</li>
+ *   <li>the number of rows and of columns, as ints</li>
+ *   <li>the number of parameters, as an int, then every parameter as a key and a value, each
+ *   written as the length of its UTF-8 bytes, as a short, followed by the bytes. The parameters
+ *   are the tags of the XML file the simulation came from, such as `type` or `probCatch`, along
+ *   with the `seed` of the run's random draws and the `step` it was saved at</li>
+ * </ul>
+ * Snapshots are written through a `FileChannel` and read from a `MappedByteBuffer`, so the packed
+ * states are unpacked straight from the file's pages without being copied into a heap buffer
+ * first.
+ */
+class Snapshot {
+
+  private static final int MAGIC = 0x43534F43;
+  private static final short VERSION = 1;
+  // magic, version, bits per cell, reserved byte, rows, columns and number of parameters
+  private static final int HEADER_SIZE = 20;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final Map<String, String> parameters;
+  private final byte[] states;
+
+  private Snapshot(int numberOfRows, int numberOfColumns, Map<String, String> parameters,
+      byte[] states) {
+    this.numberOfRows = numberOfRows;
+    this.numberOfColumns = numberOfColumns;
+    this.parameters = parameters;
+    this.states = states;
+  }
+
+  /**
+   * writes the current states of a grid and the parameters of its simulation to a file
+   *
+   * @param grid       the grid to save
+   * @param parameters the tags describing the simulation, apart from its grid
+   * @param file       destination of the snapshot, replaced if it exists
+   * @throws IOException if the file cannot be written
+   */
+  static void write(Grid grid, Map<String, String> parameters, Path file) throws IOException {
+    int bitsPerCell = bitsPerCell(grid.getStateValues().length);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      buffer.putInt(MAGIC).putShort(VERSION).put((byte) bitsPerCell).put((byte) 0);
+      buffer.putInt(grid.getNumberOfRows()).putInt(grid.getNumberOfColumns());
+      buffer.putInt(parameters.size());
+      for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+        putString(channel, buffer, parameter.getKey());
+        putString(channel, buffer, parameter.getValue());
+      }
+      int cells = grid.getNumberOfRows() * grid.getNumberOfColumns();
+      int cellsPerByte = 8 / bitsPerCell;
+      for (int i = 0; i < cells; i += cellsPerByte) {
+        int packed = 0;
+        for (int k = 0; k < cellsPerByte && i + k < cells; k++) {
+          packed |= grid.getState(i + k) << (k * bitsPerCell);
+        }
+        if (!buffer.hasRemaining()) {
+          drain(channel, buffer);
+        }
+        buffer.put((byte) packed);
+      }
+      drain(channel, buffer);
+    }
+  }
+
+  /**
+   * reads a snapshot written by `write`
+   *
+   * @param file the snapshot to read
+   * @return the snapshot, with its states unpacked to one byte per cell
+   * @throws IOException if the file cannot be read, is not a snapshot or is corrupt
+   */
+  static Snapshot read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Snapshot is too large: " + file);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+        throw new IOException("Not a snapshot: " + file);
+      }
+      short version = buffer.getShort();
+      if (version != VERSION) {
+        throw new IOException("Snapshot version " + version + " not supported: " + file);
+      }
+      int bitsPerCell = buffer.get();
+      buffer.get();
+      if (bitsPerCell != 1 && bitsPerCell != 2 && bitsPerCell != 4 && bitsPerCell != 8) {
+        throw new IOException("Snapshot has " + bitsPerCell + " bits per cell: " + file);
+      }
+      int numberOfRows = buffer.getInt();
+      int numberOfColumns = buffer.getInt();
+      if (numberOfRows <= 0 || numberOfColumns <= 0
+          || (long) numberOfRows * numberOfColumns > Integer.MAX_VALUE) {
+        throw new IOException(
+            "Snapshot has a " + numberOfRows + "x" + numberOfColumns + " grid: " + file);
+      }
+      int parameterCount = buffer.getInt();
+      // every parameter takes at least the lengths of its key and value
+      if (parameterCount < 0 || parameterCount > buffer.remaining() / (2 * Short.BYTES)) {
+        throw new IOException("Snapshot has " + parameterCount + " parameters: " + file);
+      }
+      Map<String, String> parameters = new HashMap<>();
+      for (int i = 0; i < parameterCount; i++) {
+        parameters.put(getString(buffer, file), getString(buffer, file));
+      }
+      int cells = numberOfRows * numberOfColumns;
+      int cellsPerByte = 8 / bitsPerCell;
+      if (buffer.remaining() < ((long) cells + cellsPerByte - 1) / cellsPerByte) {
+        throw new IOException("Snapshot is truncated: " + file);
+      }
+      byte[] states = new byte[cells];
+      int mask = (1 << bitsPerCell) - 1;
+      for (int i = 0; i < cells; i += cellsPerByte) {
+        int packed = buffer.get() & 0xFF;
+        for (int k = 0; k < cellsPerByte && i + k < cells; k++) {
+          states[i + k] = (byte) ((packed >>> (k * bitsPerCell)) & mask);
+        }
+      }
+      return new Snapshot(numberOfRows, numberOfColumns, parameters, states);
+    }
+  }
+
+  // smallest power of two number of bits holding every state, so that no cell straddles two bytes
+  private static int bitsPerCell(int numberOfStates) {
+    int bits = 1;
+    while (1 << bits < numberOfStates) {
+      bits *= 2;
+    }
+    return bits;
+  }
+
+  private static void putString(FileChannel channel, ByteBuffer buffer, String value)
+      throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) {
+      throw new IOException("Snapshot parameter too long");
+    }
+    if (buffer.remaining() < Short.BYTES + bytes.length) {
+      drain(channel, buffer);
+    }
+    buffer.putShort((short) bytes.length).put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer, Path file) throws IOException {
+    if (buffer.remaining() < Short.BYTES) {
+      throw new IOException("Snapshot is truncated: " + file);
+    }
+    short length = buffer.getShort();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IOException("Snapshot has a parameter of " + length + " bytes: " + file);
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * @return number of rows of the saved grid
+   */
+  int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  /**
+   * @return number of columns of the saved grid
+   */
+  int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+
+  /**
+   * @return the tags describing the saved simulation, apart from its grid
+   */
+  Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the byte codes of the saved states in row-major order
+   */
+  byte[] getStates() {
+    return states;
+  }
+}
@@ -1,30 +1,32 @@
 package Controller;
 
-import Model.Cell;
 import Model.Coordinate;
+import Model.BitPackedGameOfLife;
 import Model.GameOfLife;
+import Model.Grid;
+import Model.HashLifeGameOfLife;
+import Model.InitialStates;
+import Model.Neighborhood;
 import Model.Percolation;
 import Model.Segregation;
 import Model.Simulation;
 import Model.SpreadingFire;
 import Model.States;
 import Model.WaTor;
-import java.io.File;
-import java.util.Arrays;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 
 public class XMLParser {
@@ -41,6 +43,7 @@ public class XMLParser {
       0 0 0 0 0 0 0 0 0 0
       0 0 0 0 0 0 0 0 0 0
       """;
+  public static final String SNAPSHOT_EXTENSION = ".snapshot";
   private final String DEFAULT_SIM = "SpreadingFire";
   private final String DEFAULT_NCOLS = "10";
   private final String DEFAULT_NROWS = "10";
@@ -48,101 +51,266 @@ public class XMLParser {
   private final String DEFAULT_THRESHOLD = "0.3";
   private final String DEFAULT_FISH_CHRONON = "3";
   private final String DEFAULT_SHARK_CHRONON = "6";
-  private final DocumentBuilder DOCUMENT_BUILDER;
+  private final String DEFAULT_NEIGHBORHOOD = "MOORE";
+  private final String DEFAULT_EDGE = "FINITE";
+  private final String BIT_PACKED_ENGINE = "BitPacked";
+  private final String HASH_LIFE_ENGINE = "HashLife";
+  private final int BIT_PACKED_MIN_CELLS = 1 << 20;
+  private final String GRID_TAG = "grid";
+  private final String ENCODING_ATTRIBUTE = "encoding";
+  private final String OUTPUT_FILE = "doc/output.xml";
+  private final XMLInputFactory INPUT_FACTORY;
   private static Simulation CURRENT_SIMULATION;
-  private static Enum[] STATE_VALUES;
   private static HashMap<String, String> data;
+  private String parsedEncoding;
+  private byte[] parsedStates;
 
   /**
-   * Instantiates Document Builder object to do the parsing
+   * Instantiates the StAX factory used to stream the XML files
    *
    * @throws ParserConfigurationException
    */
 
   public XMLParser() throws ParserConfigurationException {
-    DOCUMENT_BUILDER = createDocumentBuilder();
+    INPUT_FACTORY = XMLInputFactory.newInstance();
+    INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
   }
 
   /**
    * Opens the file if XML, throws error if else, extracts data from list of Tags, stores it and
-   * returns it in a HashMap
+   * returns it in a HashMap. The file is streamed rather than loaded into a DOM, and the text of the
+   * <grid> tag is decoded into the states of the cells as it is read instead of being stored in
+   * the HashMap, so large grids never exist as text in memory. The states are kept aside for
+   * createSimulation
    *
    * @param filePath String of the path of the XML file
    * @return
-   * @throws Exception if DOCUEMENT_BUILDER tries to parse a non-XML file
+   * @throws XMLStreamException       if the file is not well-formed XML
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the grid is malformed or has fewer cells than the board
+   * @throws Exception                if the file is not an XML file
    */
   public HashMap<String, String> parseXML(String filePath) throws Exception {
     if (filePath.substring(filePath.lastIndexOf('.')).equals(".xml")) {
-      File XMLFile = new File(filePath);
-      Document XMLDocument = DOCUMENT_BUILDER.parse(XMLFile);
-      Element simulation = XMLDocument.getDocumentElement();
       data = new HashMap<>();
-      for (String tag : GeneralController.TAGS) {
-        if (simulation.getElementsByTagName(tag).getLength() > 0) {
-          data.put(tag, simulation.getElementsByTagName(tag).item(0).getTextContent());
+      parsedEncoding = null;
+      parsedStates = null;
+      GridDecoder grid = null;
+      try (InputStream in = new BufferedInputStream(new FileInputStream(filePath))) {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+          while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+              continue;
+            }
+            String tag = reader.getLocalName();
+            if (tag.equals(GRID_TAG) && grid == null && !data.containsKey(GRID_TAG)) {
+              grid = readGrid(reader);
+            } else if (!tag.equals(GRID_TAG) && GeneralController.TAGS.contains(tag)
+                && !data.containsKey(tag)) {
+              data.put(tag, reader.getElementText());
+            }
+          }
+        } finally {
+          reader.close();
         }
       }
+      parsedStates = decodeParsedGrid(grid);
       return data;
     } else {
       throw new Exception("Non-XML files not supported");
     }
   }
 
+  // feeds the text of the <grid> tag to a decoder piece by piece, sized for the board when its
+  // dimensions came before the grid. Run-length grids can only be decoded once the number of
+  // columns is known, so when it comes after the grid their text is kept until the end of the file
+  private GridDecoder readGrid(XMLStreamReader reader) throws XMLStreamException {
+    parsedEncoding = reader.getAttributeValue(null, ENCODING_ATTRIBUTE);
+    boolean runLength = GridDecoder.isRunLength(parsedEncoding);
+    GridDecoder decoder;
+    if (data.containsKey("numberOfRows") && data.containsKey("numberOfColumns")) {
+      decoder = new GridDecoder(parsedEncoding, Integer.parseInt(data.get("numberOfRows").trim()),
+          Integer.parseInt(data.get("numberOfColumns").trim()));
+    } else if (!runLength) {
+      decoder = new GridDecoder(-1);
+    } else {
+      data.put(GRID_TAG, reader.getElementText());
+      return null;
+    }
+    int depth = 1;
+    while (depth > 0) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT -> depth++;
+        case XMLStreamConstants.END_ELEMENT -> depth--;
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+            XMLStreamConstants.SPACE -> decoder.decode(reader.getTextCharacters(),
+            reader.getTextStart(), reader.getTextLength());
+        default -> {
+        }
+      }
+    }
+    return decoder;
+  }
+
+  // the states of the grid read by parseXML, decoded once the dimensions of the board are known
+  private byte[] decodeParsedGrid(GridDecoder grid) {
+    int numCols = Integer.parseInt(data.getOrDefault("numberOfColumns", DEFAULT_NCOLS).trim());
+    int numRows = Integer.parseInt(data.getOrDefault("numberOfRows", DEFAULT_NROWS).trim());
+    if (data.containsKey(GRID_TAG)) {
+      grid = new GridDecoder(parsedEncoding, numRows, numCols);
+      grid.decode(data.remove(GRID_TAG));
+    }
+    return grid == null ? null : grid.getStates(numRows * numCols);
+  }
+
   /**
-   * exports current Simulation to XML file
+   * Reads a binary snapshot written by saveSnapshot() and returns the data of its simulation in
+   * the same HashMap as parseXML, ready for createSimulation. The states of the cells are read
+   * from the memory-mapped file and kept aside for createSimulation instead of being stored in the
+   * HashMap
    *
-   * @throws ParserConfigurationException
-   * @throws TransformerException
+   * @param filePath String of the path of the snapshot
+   * @return
+   * @throws IOException if the file cannot be read, is not a snapshot, or holds a state its
+   *                     simulation does not have
    */
-  public void saveGrid() throws ParserConfigurationException, TransformerException {
-    DocumentBuilder docBuilder = createDocumentBuilder();
-    Document doc = docBuilder.newDocument();
-    Element root = doc.createElement("data");
-    root.appendChild(doc.createTextNode("simulation"));
-    doc.appendChild(root);
-    for (Map.Entry<String, String> entry : data.entrySet()) {
-      Element node = doc.createElement(entry.getKey());
-      if (entry.getKey() != "grid") {
-        node.appendChild(doc.createTextNode(entry.getValue()));
-      } else {
-        node.appendChild(doc.createTextNode(gridToXML()));
+  public HashMap<String, String> parseSnapshot(String filePath) throws IOException {
+    Snapshot snapshot = Snapshot.read(Path.of(filePath));
+    String simulation = snapshot.getParameters().getOrDefault("type", DEFAULT_SIM);
+    int stateCount = countStates(simulation, filePath);
+    byte[] states = snapshot.getStates();
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] >= stateCount) {
+        throw new IOException(String.format("Snapshot has state %d outside the %d states of %s at"
+            + " cell %d: %s", states[i], stateCount, simulation, i, filePath));
       }
-      root.appendChild(node);
     }
-    Transformer transformer = createTransformer();
-    DOMSource source = new DOMSource(doc);
-    StreamResult file = new StreamResult(new File("doc/output.xml"));
-    transformer.transform(source, file);
+    data = new HashMap<>(snapshot.getParameters());
+    data.put("numberOfRows", String.valueOf(snapshot.getNumberOfRows()));
+    data.put("numberOfColumns", String.valueOf(snapshot.getNumberOfColumns()));
+    parsedEncoding = null;
+    parsedStates = states;
+    return data;
+  }
+
+  // number of states of the simulations of a type, as created by createSimulation
+  private int countStates(String simulation, String filePath) throws IOException {
+    return switch (simulation) {
+      case "GameOfLife" -> States.GameOfLife.values().length;
+      case "SpreadingFire" -> States.SpreadingFire.values().length;
+      case "Segregation" -> States.Segregation.values().length;
+      case "WaTor" -> States.WaTor.values().length;
+      case "Percolation" -> States.Percolation.values().length;
+      default -> throw new IOException(
+          "Snapshot of unknown simulation " + simulation + ": " + filePath);
+    };
+  }
+
+  /**
+   * exports current Simulation to a binary snapshot: its data and the states of its cells packed
+   * into as few bits as the number of states allows, which is many times smaller and faster to
+   * write and read than saveGrid()
+   *
+   * @param filePath String of the path of the snapshot, replaced if it exists
+   * @throws IOException if the file cannot be written
+   */
+  public void saveSnapshot(String filePath) throws IOException {
+    Grid grid = CURRENT_SIMULATION.getGrid();
+    Snapshot.write(grid, exportParameters(grid), Path.of(filePath));
+  }
+
+  /**
+   * chooses how saveGrid() writes the grid: `plain` lists the state of every cell, while `rle`
+   * writes runs of equal states, which is far smaller for sparse boards. By default the grid is
+   * written in the encoding of the file it was loaded from
+   *
+   * @param encoding `plain` or `rle`
+   * @throws IllegalArgumentException if the encoding is neither
+   */
+  public void setGridEncoding(String encoding) {
+    if (!GridEncoder.PLAIN.equalsIgnoreCase(encoding)
+        && !GridEncoder.RUN_LENGTH.equalsIgnoreCase(encoding)) {
+      throw new IllegalArgumentException("Grid encoding not supported: " + encoding);
+    }
+    parsedEncoding = encoding;
+  }
+
+  /**
+   * exports current Simulation to the XML file doc/output.xml
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public void saveGrid() throws IOException {
+    try (Writer out = Files.newBufferedWriter(Path.of(OUTPUT_FILE))) {
+      saveGrid(out);
+    }
   }
 
   /**
-   * is called inside saveGrid() when trying to write the grid to the XML file
+   * exports current Simulation as XML to a Writer. The document is streamed as it is produced,
+   * the grid included, so exporting takes time linear in the number of cells and never holds the
+   * grid's text in memory. The dimensions written are those of the simulation's grid
    *
-   * @return current grid setup as String to be added under the <grid> tag
+   * @param out destination of the XML, which is not closed
+   * @throws IOException if the XML cannot be written
    */
-  private String gridToXML() {
-    Map<Coordinate, Cell> currentGrid = CURRENT_SIMULATION.getGrid().getCellMap();
-    String gridString = "";
-    int nrows = Integer.parseInt(DEFAULT_NROWS);
-    int ncols = Integer.parseInt(DEFAULT_NCOLS);
-    for (int i = 0; i < nrows; i++) {
-      for (int j = 0; j < ncols; j++) {
-        Cell currentCell = currentGrid.get(new Coordinate(i, j));
-        Enum currentState = currentCell.getCurrentState();
-        int value = Arrays.asList(STATE_VALUES).indexOf(currentState);
-        gridString += value + " ";
+  public void saveGrid(Writer out) throws IOException {
+    Grid grid = CURRENT_SIMULATION.getGrid();
+    Map<String, String> parameters = exportParameters(grid);
+    out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+    out.write("<data simulation=\"simulation\">\n");
+    for (String tag : GeneralController.TAGS) {
+      if (parameters.containsKey(tag)) {
+        out.write("  <" + tag + ">" + escape(parameters.get(tag)) + "</" + tag + ">\n");
       }
-      gridString += "\n";
     }
-    return gridString;
+    out.write("  <" + GRID_TAG);
+    if (GridDecoder.isRunLength(parsedEncoding)) {
+      out.write(" " + ENCODING_ATTRIBUTE + "=\"" + GridDecoder.RUN_LENGTH + "\"");
+    }
+    out.write(">\n");
+    GridEncoder.write(grid, parsedEncoding, out);
+    out.write("  </" + GRID_TAG + ">\n</data>\n");
+    out.flush();
+  }
+
+  // the tags describing the current simulation apart from its grid, with its real dimensions, the
+  // seed its random draws come from and the number of steps it took, so that loading the export
+  // resumes a SpreadingFire run where it stopped
+  private Map<String, String> exportParameters(Grid grid) {
+    Map<String, String> parameters = new HashMap<>(data);
+    parameters.remove(GRID_TAG);
+    parameters.putIfAbsent("type", DEFAULT_SIM);
+    parameters.put("numberOfRows", String.valueOf(grid.getNumberOfRows()));
+    parameters.put("numberOfColumns", String.valueOf(grid.getNumberOfColumns()));
+    if (CURRENT_SIMULATION instanceof SpreadingFire fire) {
+      parameters.put("seed", String.valueOf(fire.getSeed()));
+    }
+    parameters.put("step", String.valueOf(CURRENT_SIMULATION.getStepCount()));
+    return parameters;
+  }
+
+  private String escape(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
   }
 
   /**
    * creates the specific Simulation object corresponding to the data HashMap if the data HashMap
-   * does not contain some fields, the method returns an instance of SpreadingFire by default.
+   * does not contain some fields, the method returns an instance of SpreadingFire by default. The
+   * cells start in the states of the data's <grid> text when it has one, otherwise in those of the
+   * grid last read by parseXML or parseSnapshot, or those of DEFAULT_GRID when none was read. The
+   * optional <neighborhood> (MOORE, VON_NEUMANN, HEXAGONAL, TRIANGULAR) and <edge> (FINITE,
+   * TOROIDAL, REFLECTIVE) tags choose which cells are neighbors; hexagons and triangles cannot have
+   * reflective edges, and only wrap around grids whose rows (triangles) and columns are even. A
+   * <step> tag, written by saveGrid() and saveSnapshot(), carries on the run from that step.
    *
    * @param data hashMap returned by parseXML with the Simulation's data
    * @return
+   * @throws IllegalArgumentException if the data names an <engine> other than BitPacked and
+   *                                  HashLife, or combines an <engine> with a <neighborhood> or an
+   *                                  <edge>, which only the engine working on cell objects supports
    */
   public Simulation createSimulation(HashMap<String, String> data) {
 
@@ -154,65 +322,82 @@ public class XMLParser {
     double threshold = Double.parseDouble(data.getOrDefault("threshold", DEFAULT_THRESHOLD));
     int fishChronon = Integer.parseInt(data.getOrDefault("fishChronon", DEFAULT_FISH_CHRONON));
     int sharkChronon = Integer.parseInt(data.getOrDefault("sharkChronon", DEFAULT_SHARK_CHRONON));
-    String grid = data.getOrDefault("grid", DEFAULT_GRID);
-    String allCells = grid.replaceAll("[^0-9]", "");
-    int[][] cellsArray = new int[numRows][numCols];
-    for (int a = 0; a < numRows * numCols; a += numCols) {
-      for (int b = 0; b < numCols; b++) {
-        cellsArray[a / numCols][b] = Integer.parseInt(
-            allCells.substring(a, a + numCols).substring(b, b + 1));
-      }
+    Map<Coordinate, Integer> map = new InitialStates(numRows, numCols,
+        decodeGrid(data, numRows, numCols));
+
+    String engine = data.containsKey("engine") ? data.get("engine").trim() : null;
+    if (engine != null && !engine.equals(BIT_PACKED_ENGINE) && !engine.equals(HASH_LIFE_ENGINE)) {
+      throw new IllegalArgumentException("Engine not supported: " + engine);
     }
-    Map<Coordinate, Integer> map = new HashMap<>();
-    for (int i = 0; i < numRows; i++) {
-      for (int j = 0; j < numCols; j++) {
-        map.put(new Coordinate(i, j), cellsArray[i][j]);
-      }
+    boolean customNeighborhood = data.containsKey("neighborhood") || data.containsKey("edge");
+    if (customNeighborhood && engine != null) {
+      throw new IllegalArgumentException("The " + engine
+          + " engine does not support the <neighborhood> and <edge> tags");
     }
-
     switch (simulation) {
       case "GameOfLife" -> {
-        CURRENT_SIMULATION = new GameOfLife( numRows,numCols, map);
-        STATE_VALUES = States.GameOfLife.values();
+        if (HASH_LIFE_ENGINE.equals(engine)) {
+          CURRENT_SIMULATION = new HashLifeGameOfLife(numRows, numCols, map);
+        } else if (!customNeighborhood && useBitPackedEngine(engine, numRows, numCols)) {
+          CURRENT_SIMULATION = new BitPackedGameOfLife(numRows, numCols, map);
+        } else {
+          CURRENT_SIMULATION = new GameOfLife(numRows, numCols, map);
+        }
       }
       case "SpreadingFire" -> {
-        CURRENT_SIMULATION = new SpreadingFire(numRows, numCols, map, probCatch);
-        STATE_VALUES = States.SpreadingFire.values();
+        CURRENT_SIMULATION = data.containsKey("seed")
+            ? new SpreadingFire(numRows, numCols, map, probCatch,
+                Long.parseLong(data.get("seed").trim()))
+            : new SpreadingFire(numRows, numCols, map, probCatch);
       }
       case "Segregation" -> {
         CURRENT_SIMULATION = new Segregation(numRows, numCols, map,
             threshold);
-        STATE_VALUES = States.Segregation.values();
       }
       case "WaTor" -> {
         CURRENT_SIMULATION = new WaTor(numRows, numCols, map, fishChronon,
             sharkChronon);
-        STATE_VALUES = States.WaTor.values();
       }
       case "Percolation" -> {
         CURRENT_SIMULATION = new Percolation(numRows, numCols, map);
-        STATE_VALUES = States.Percolation.values();
       }
     }
+    if (data.containsKey("step")) {
+      CURRENT_SIMULATION.setStepCount(Long.parseLong(data.get("step").trim()));
+    }
+    if (customNeighborhood) {
+      CURRENT_SIMULATION.setNeighborhood(
+          Neighborhood.Shape.valueOf(data.getOrDefault("neighborhood", DEFAULT_NEIGHBORHOOD)
+              .trim().toUpperCase()),
+          Neighborhood.Edge.valueOf(data.getOrDefault("edge", DEFAULT_EDGE).trim().toUpperCase()));
+    }
 
     return CURRENT_SIMULATION;
   }
 
   /**
-   * @return DocumentBuilder object instance to be used in parseXML()
-   * @throws ParserConfigurationException
+   * @return the states of the data's own plain <grid> text when it has one, otherwise those of the
+   * grid last read by parseXML or parseSnapshot, or those of DEFAULT_GRID when none was read
    */
-  private DocumentBuilder createDocumentBuilder() throws ParserConfigurationException {
-    return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+  private byte[] decodeGrid(HashMap<String, String> data, int numRows, int numCols) {
+    if (!data.containsKey(GRID_TAG) && parsedStates != null) {
+      return parsedStates;
+    }
+    GridDecoder decoder = new GridDecoder(GridDecoder.PLAIN, numRows, numCols);
+    decoder.decode(data.getOrDefault(GRID_TAG, DEFAULT_GRID));
+    return decoder.getStates(numRows * numCols);
   }
 
   /**
-   * @return Transformer object instance to be used in saveGrid()
-   * @throws TransformerConfigurationException
+   * chooses the Game of Life engine: the <engine> tag decides when present, otherwise the bit
+   * packed engine is used for boards too large to hold as cell objects
+   *
+   * @return whether the Game of Life should run on the bit packed engine
    */
-  private Transformer createTransformer() throws TransformerConfigurationException {
-    Transformer transformer = TransformerFactory.newInstance().newTransformer();
-    transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-    return transformer;
+  private boolean useBitPackedEngine(String engine, int numRows, int numCols) {
+    if (engine != null) {
+      return engine.equals(BIT_PACKED_ENGINE);
+    }
+    return (long) numRows * numCols >= BIT_PACKED_MIN_CELLS;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package Model;
+
+/**
+ * Keeps track of the cells of a grid that need to be evaluated on the next step of a simulation
+ * stepped incrementally. A cell whose own state and neighborhood did not change during a step will
+ * not change during the next one either, so only the cells that changed and their neighbors are
+ * kept active. Every cell starts out active.
+ */
+class ActiveRegion {
+
+  private final Grid grid;
+  private final int[] active;
+  private final int[] changed;
+  private final boolean[] queued;
+  private int activeCount;
+  private int changedCount;
+
+  /**
+   * @param grid the grid whose cells are tracked
+   */
+  ActiveRegion(Grid grid) {
+    this.grid = grid;
+    int size = grid.getNumberOfRows() * grid.getNumberOfColumns();
+    active = new int[size];
+    changed = new int[size];
+    queued = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      active[i] = i;
+    }
+    activeCount = size;
+  }
+
+  /**
+   * @return the number of cells to evaluate on the current step
+   */
+  int getActiveCount() {
+    return activeCount;
+  }
+
+  /**
+   * @param k position in the list of active cells
+   * @return linear index of the `k`th active cell
+   */
+  int getActiveCell(int k) {
+    return active[k];
+  }
+
+  /**
+   * records that the state of a cell changed during the current step
+   *
+   * @param index linear index of the cell
+   */
+  void markChanged(int index) {
+    changed[changedCount++] = index;
+  }
+
+  /**
+   * replaces the active cells with the cells that changed during the current step and their
+   * neighbors
+   */
+  void advance() {
+    Neighborhood neighborhood = grid.getNeighborhood();
+    activeCount = 0;
+    for (int k = 0; k < changedCount; k++) {
+      int index = changed[k];
+      enqueue(index);
+      for (int n = neighborhood.getStart(index); n < neighborhood.getEnd(index); n++) {
+        enqueue(neighborhood.getNeighbor(n));
+      }
+    }
+    for (int k = 0; k < activeCount; k++) {
+      queued[active[k]] = false;
+    }
+    changedCount = 0;
+  }
+
+  private void enqueue(int index) {
+    if (!queued[index]) {
+      queued[index] = true;
+      active[activeCount++] = index;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package Model;
+
+import java.util.Map;
+
+/**
+ * Alternate engine for the Game of Life that stores the grid in a `BitPackedGrid` instead of cell
+ * objects, so that a cell costs one bit of memory. Each step computes 64 cells at a time: the eight
+ * neighbors of every cell in a word are lined up by shifting the words of the rows above, below and
+ * at the cell, and their count is summed with bitwise full adders. Results are identical to the
+ * `GameOfLife` simulation, including treating the cells outside the grid as dead.
+ */
+public class BitPackedGameOfLife extends Simulation {
+
+  private static final byte ALIVE = (byte) States.GameOfLife.ALIVE.ordinal();
+
+  private long[] nextWords;
+  private long nextSetCells;
+
+  /**
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param setup           map storing integer representations of states in order to initialize
+   *                        simulation states
+   */
+  public BitPackedGameOfLife(int numberOfRows, int numberOfColumns,
+      Map<Coordinate, Integer> setup) {
+    super(numberOfRows, numberOfColumns, setup);
+  }
+
+  protected void createGrid() {
+    grid = new BitPackedGrid(numberOfRows, numberOfColumns, States.GameOfLife.values());
+    nextWords = new long[((BitPackedGrid) grid).words.length];
+  }
+
+  protected void initializeGridCells() {
+    BitPackedGrid bits = (BitPackedGrid) grid;
+    // boards read from a file are packed straight from their byte codes
+    if (setup instanceof InitialStates initial) {
+      for (int row = 0; row < numberOfRows; row++) {
+        for (int column = 0; column < numberOfColumns; column++) {
+          bits.setState(row, column, initial.getState(row, column) == ALIVE);
+        }
+      }
+      return;
+    }
+    for (Map.Entry<Coordinate, Integer> entry : setup.entrySet()) {
+      Coordinate c = entry.getKey();
+      bits.setState(c.getRow(), c.getColumn(), entry.getValue() == ALIVE);
+    }
+  }
+
+  @Override
+  public boolean supportsParallelStepping() {
+    return true;
+  }
+
+  @Override
+  protected void updateGrid() {
+    BitPackedGrid bits = (BitPackedGrid) grid;
+    long[] current = bits.words;
+    long[] next = nextWords;
+    nextSetCells = 0;
+    forEachRowBand((fromRow, toRow) ->
+        addSetCells(determineNextWords(bits, current, next, fromRow, toRow)));
+    nextWords = bits.swapWords(next, nextSetCells);
+  }
+
+  private synchronized void addSetCells(long count) {
+    nextSetCells += count;
+  }
+
+  // returns the number of cells of the band that are alive in the next generation
+  private long determineNextWords(BitPackedGrid bits, long[] current, long[] next, int fromRow,
+      int toRow) {
+    int wordsPerRow = bits.getWordsPerRow();
+    long setCells = 0;
+    for (int row = fromRow; row < toRow; row++) {
+      int rowStart = row * wordsPerRow;
+      int above = row > 0 ? rowStart - wordsPerRow : -1;
+      int below = row < numberOfRows - 1 ? rowStart + wordsPerRow : -1;
+      for (int w = 0; w < wordsPerRow; w++) {
+        long cell = current[rowStart + w];
+        long left = shiftFromLeft(current, rowStart, w);
+        long right = shiftFromRight(current, rowStart, w, wordsPerRow);
+        long up = above < 0 ? 0 : current[above + w];
+        long upLeft = above < 0 ? 0 : shiftFromLeft(current, above, w);
+        long upRight = above < 0 ? 0 : shiftFromRight(current, above, w, wordsPerRow);
+        long down = below < 0 ? 0 : current[below + w];
+        long downLeft = below < 0 ? 0 : shiftFromLeft(current, below, w);
+        long downRight = below < 0 ? 0 : shiftFromRight(current, below, w, wordsPerRow);
+        long nextWord = nextGeneration(cell, upLeft, up, upRight, left, right, downLeft, down,
+            downRight);
+        if (w == wordsPerRow - 1) {
+          nextWord &= bits.lastWordMask;
+        }
+        next[rowStart + w] = nextWord;
+        setCells += Long.bitCount(nextWord);
+      }
+    }
+    return setCells;
+  }
+
+  // lines up the neighbor in the column to the left of every cell in word w
+  private long shiftFromLeft(long[] words, int rowStart, int w) {
+    long shifted = words[rowStart + w] << 1;
+    if (w > 0) {
+      shifted |= words[rowStart + w - 1] >>> 63;
+    }
+    return shifted;
+  }
+
+  // lines up the neighbor in the column to the right of every cell in word w
+  private long shiftFromRight(long[] words, int rowStart, int w, int wordsPerRow) {
+    long shifted = words[rowStart + w] >>> 1;
+    if (w < wordsPerRow - 1) {
+      shifted |= words[rowStart + w + 1] << 63;
+    }
+    return shifted;
+  }
+
+  /**
+   * method for applying the rules of the Game of Life to 64 cells at once. The eight neighbor
+   * words are summed with full adders into a ones bit, a twos bit and a flag for counts of four or
+   * more, and a cell lives when its count is three, or two while it is already alive
+   */
+  private static long nextGeneration(long cell, long upLeft, long up, long upRight, long left,
+      long right, long downLeft, long down, long downRight) {
+    long upOnes = upLeft ^ up ^ upRight;
+    long upTwos = (upLeft & up) | (upRight & (upLeft ^ up));
+    long midOnes = left ^ right;
+    long midTwos = left & right;
+    long downOnes = downLeft ^ down ^ downRight;
+    long downTwos = (downLeft & down) | (downRight & (downLeft ^ down));
+
+    long ones = upOnes ^ midOnes ^ downOnes;
+    long onesCarry = (upOnes & midOnes) | (downOnes & (upOnes ^ midOnes));
+
+    long firstTwos = upTwos ^ midTwos;
+    long firstCarry = upTwos & midTwos;
+    long secondTwos = downTwos ^ onesCarry;
+    long secondCarry = downTwos & onesCarry;
+    long twos = firstTwos ^ secondTwos;
+    long fours = firstCarry | secondCarry | (firstTwos & secondTwos);
+
+    return twos & ~fours & (ones | cell);
+  }
+}
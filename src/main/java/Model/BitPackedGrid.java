@@ -0,0 +1,95 @@
+package Model;
+
+/**
+ * Extension of the `Grid` superclass for two-state models that packs the grid into `long` words, 64
+ * cells per word, with every row starting on a new word. Bit `i` of word `w` in a row holds the
+ * cell in column `64 * w + i`, and the unused high bits of the last word of each row are always
+ * kept clear. No cell objects are stored, so `getCell` only hands out read-only views.
+ */
+public class BitPackedGrid extends Grid {
+
+  protected long[] words;
+  protected final int wordsPerRow;
+  protected final long lastWordMask;
+  private long setCells;
+
+  /**
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param stateValues     the two states a cell can be in, the clear bit first
+   */
+  public BitPackedGrid(int numberOfRows, int numberOfColumns, Enum[] stateValues) {
+    super(numberOfRows, numberOfColumns, stateValues, false);
+    wordsPerRow = (numberOfColumns + 63) >>> 6;
+    words = new long[numberOfRows * wordsPerRow];
+    int usedBits = numberOfColumns & 63;
+    lastWordMask = usedBits == 0 ? -1L : (1L << usedBits) - 1;
+  }
+
+  /**
+   * getter method for the number of words used to store each row
+   *
+   * @return the number of words per row
+   */
+  public int getWordsPerRow() {
+    return wordsPerRow;
+  }
+
+  @Override
+  public byte getState(int row, int column) {
+    return (byte) ((words[row * wordsPerRow + (column >>> 6)] >>> (column & 63)) & 1L);
+  }
+
+  @Override
+  public byte getState(int index) {
+    return getState(index / numberOfColumns, index % numberOfColumns);
+  }
+
+  /**
+   * getter method for the number of cells in a given state, derived from the number of set cells
+   *
+   * @param state byte code of the state
+   * @return the number of cells in that state
+   */
+  @Override
+  public int getPopulation(int state) {
+    long set = setCells;
+    return (int) (state == 0 ? (long) numberOfRows * numberOfColumns - set : set);
+  }
+
+  protected void setState(int row, int column, boolean set) {
+    int index = row * wordsPerRow + (column >>> 6);
+    long bit = 1L << (column & 63);
+    if (set && (words[index] & bit) == 0) {
+      words[index] |= bit;
+      setCells++;
+    } else if (!set && (words[index] & bit) != 0) {
+      words[index] &= ~bit;
+      setCells--;
+    }
+  }
+
+  /**
+   * method for replacing the words of the grid with those of the next generation
+   *
+   * @param nextWords the words of the next generation
+   * @param setCells  number of bits set in `nextWords`, which the engine counts as it writes them
+   * @return the words of the previous generation, to be reused
+   */
+  protected long[] swapWords(long[] nextWords, long setCells) {
+    long[] previous = words;
+    words = nextWords;
+    this.setCells = setCells;
+    return previous;
+  }
+
+  /**
+   * getter method for the number of set cells in the grid, which is kept up to date as the words
+   * are written instead of being counted
+   *
+   * @return the number of cells whose bit is set
+   */
+  public long countSetCells() {
+    return setCells;
+  }
+}
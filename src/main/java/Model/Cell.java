@@ -3,19 +3,22 @@ package Model;
 /**
  * Abstract class for representing the basic attributes of a cell in a cellular automata model.
  * Methods are mostly implemented as protected methods in order to limit their usage to extended
- * usages of the class
+ * usages of the class. States are stored as byte codes, the ordinal of the state in its `States`
+ * enum, and the enum value is only looked up when it is asked for
  *
  * @author Matthew Giglio
  */
 public abstract class Cell {
 
   protected Coordinate position;
-  protected Enum currentState;
-  protected Enum futureState;
-  protected int[] rowDelta = {-1, 1, 0, 0, 1, 1, -1, -1};
-  protected int[] colDelta = {0, 0, -1, 1, -1, 1, -1, 1};
+  protected byte currentState;
+  protected byte futureState;
 
-  public Cell(Coordinate position, Enum initialState) {
+  /**
+   * @param position     position of the cell in the grid
+   * @param initialState byte code of the initial state of the cell
+   */
+  public Cell(Coordinate position, byte initialState) {
     this.position = position;
     this.currentState = initialState;
   }
@@ -29,19 +32,34 @@ public abstract class Cell {
   }
 
   /**
-   * Getter method for a cell's current state, particularly helpful for
+   * Getter method for the byte code of a cell's current state
+   *
+   * @return the ordinal of the cell's current state in its `States` enum
+   */
+  public byte getState() {
+    return currentState;
+  }
+
+  /**
+   * Getter method for a cell's current state, particularly helpful for display
+   *
    * @return the current state of the cell
    */
   public Enum getCurrentState() {
-    return currentState;
+    return getStateValues()[currentState];
   }
 
+  /**
+   * @return the values of the cell's `States` enum, indexed by byte code
+   */
+  protected abstract Enum[] getStateValues();
+
   protected abstract void updateState();
 
   protected abstract void determineNextState(Grid grid);
 
   @Override
   public String toString() {
-    return currentState.toString();
+    return getCurrentState().toString();
   }
 }
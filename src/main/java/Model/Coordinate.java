@@ -1,19 +1,30 @@
 package Model;
 
-import java.util.Objects;
-
 /**
  * Class for representing a relative coordinate on a grid in terms of rows and columns. Used in
- * tandem with Map objects to create a graph representation of a grid
+ * tandem with Map objects to create a graph representation of a grid. Coordinates are immutable and
+ * compute their hash code once. Canonical instances that also know their linear index in a grid
+ * come from a `CoordinatePool`, obtained through `Grid.getCoordinate`, and should be preferred over
+ * the constructor
  */
 public class Coordinate {
 
-  private int row;
-  private int column;
+  private final int row;
+  private final int column;
+  private final int index;
+  private final int hash;
+  private final CoordinatePool pool;
 
   public Coordinate(int row, int column) {
+    this(row, column, -1, null);
+  }
+
+  Coordinate(int row, int column, int index, CoordinatePool pool) {
     this.row = row;
     this.column = column;
+    this.index = index;
+    this.pool = pool;
+    hash = 31 * (31 + row) + column;
   }
 
   /**
@@ -34,6 +45,19 @@ public class Coordinate {
     return column;
   }
 
+  /**
+   * Getter method for the linear index of a pooled Coordinate in its grid
+   *
+   * @return the linear index of the Coordinate, or -1 if it does not come from a `CoordinatePool`
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  CoordinatePool getPool() {
+    return pool;
+  }
+
   /**
    * method that identifies the neighbor of a given coordinate in a direction (r, c) from the
    * current point
@@ -57,22 +81,22 @@ public class Coordinate {
     if (this == o) {
       return true;
     }
-    if (o == null || getClass() != o.getClass()) {
+    if (!(o instanceof Coordinate that)) {
       return false;
     }
-    Coordinate that = (Coordinate) o;
-    return row == that.row && column == that.column;
+    return hash == that.hash && row == that.row && column == that.column;
   }
 
   /**
    * overriden hashcode method developed in order to allow effective use of Coordinates in HashMap
-   * objects
+   * objects. It matches the value `Objects.hash(row, column)` without boxing, so maps keep the
+   * same iteration order
    *
    * @return the hashcode of the coordinate
    */
   @Override
   public int hashCode() {
-    return Objects.hash(row, column);
+    return hash;
   }
 
   /**
@@ -0,0 +1,118 @@
+package Model;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool of canonical `Coordinate` instances for one grid dimension. The pool hands out a single
+ * immutable instance per position, carrying its hash code and linear index, so positions can be
+ * passed around and used as map keys without allocating, and two positions from the same pool are
+ * equal exactly when they are the same object. Instances are created the first time a position is
+ * asked for, in chunks of consecutive positions, so a pool only takes memory for the parts of the
+ * grid that were asked for. Pools are shared by every grid of the same dimensions until memory runs
+ * low.
+ */
+public final class CoordinatePool {
+
+  private static final Map<Long, SoftReference<CoordinatePool>> POOLS = new ConcurrentHashMap<>();
+  private static final int CHUNK_BITS = 12;
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final int size;
+  private final AtomicReferenceArray<Coordinate[]> chunks;
+
+  private CoordinatePool(int numberOfRows, int numberOfColumns) {
+    this.numberOfRows = numberOfRows;
+    this.numberOfColumns = numberOfColumns;
+    size = numberOfRows * numberOfColumns;
+    chunks = new AtomicReferenceArray<>((size + CHUNK_MASK) >>> CHUNK_BITS);
+  }
+
+  /**
+   * getter method for the pool shared by the grids of a given dimension
+   *
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @return the pool of the grid's positions
+   */
+  public static CoordinatePool forDimensions(int numberOfRows, int numberOfColumns) {
+    long key = ((long) numberOfRows << 32) | numberOfColumns;
+    SoftReference<CoordinatePool> reference = POOLS.get(key);
+    CoordinatePool pool = reference == null ? null : reference.get();
+    if (pool == null) {
+      pool = new CoordinatePool(numberOfRows, numberOfColumns);
+      POOLS.put(key, new SoftReference<>(pool));
+    }
+    return pool;
+  }
+
+  /**
+   * getter method for the canonical instance of a position
+   *
+   * @param row    row index of the position
+   * @param column column index of the position
+   * @return the pooled `Coordinate` of the position
+   */
+  public Coordinate get(int row, int column) {
+    return get(row * numberOfColumns + column);
+  }
+
+  /**
+   * getter method for the canonical instance of a position given by its linear index
+   *
+   * @param index linear index of the position, `row * numberOfColumns + column`
+   * @return the pooled `Coordinate` of the position
+   */
+  public Coordinate get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Position " + index + " is outside a grid of " + size);
+    }
+    Coordinate[] chunk = chunk(index >>> CHUNK_BITS);
+    Coordinate coordinate = chunk[index & CHUNK_MASK];
+    if (coordinate == null) {
+      // a race between threads can create a second instance, which is still equal to the first
+      coordinate = new Coordinate(index / numberOfColumns, index % numberOfColumns, index, this);
+      chunk[index & CHUNK_MASK] = coordinate;
+    }
+    return coordinate;
+  }
+
+  private Coordinate[] chunk(int number) {
+    Coordinate[] chunk = chunks.get(number);
+    if (chunk == null) {
+      chunks.compareAndSet(number, null,
+          new Coordinate[Math.min(CHUNK_MASK + 1, size - (number << CHUNK_BITS))]);
+      chunk = chunks.get(number);
+    }
+    return chunk;
+  }
+
+  /**
+   * method for checking whether a coordinate was handed out by this pool, in which case its linear
+   * index can be trusted
+   *
+   * @param coordinate the coordinate to check
+   * @return boolean whether the coordinate was handed out by this pool
+   */
+  public boolean contains(Coordinate coordinate) {
+    return coordinate.getPool() == this;
+  }
+
+  /**
+   * @return number of rows of the positions in the pool
+   */
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  /**
+   * @return number of columns of the positions in the pool
+   */
+  public int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+}
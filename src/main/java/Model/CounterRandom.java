@@ -0,0 +1,49 @@
+package Model;
+
+/**
+ * Counter-based source of randomness. Instead of drawing from a shared generator whose output
+ * depends on the order of the calls, every value is derived by hashing a seed together with the
+ * step of the simulation and the index of the cell asking for it, using the SplitMix64 mixing
+ * function. The same seed therefore always produces the same values for the same cells, no matter
+ * how many threads step the grid or in which order the cells are visited.
+ */
+public final class CounterRandom {
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private CounterRandom() {
+  }
+
+  /**
+   * method for deriving a uniformly distributed value in `[0, 1)` from a seed and two counters
+   *
+   * @param seed  seed of the run
+   * @param step  number of steps the simulation has taken
+   * @param index linear index of the cell in the grid
+   * @return a value in `[0, 1)` that only depends on the three arguments
+   */
+  public static double uniform(long seed, long step, long index) {
+    long hash = mix(seed + GOLDEN_GAMMA * (step + 1));
+    hash = mix(hash + GOLDEN_GAMMA * (index + 1));
+    return (hash >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * method for deriving an independent seed from a parent seed, used to give every run of a batch
+   * its own stream
+   *
+   * @param seed    the parent seed
+   * @param counter position of the child seed
+   * @return the derived seed
+   */
+  public static long split(long seed, long counter) {
+    return mix(seed + GOLDEN_GAMMA * (counter + 1));
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
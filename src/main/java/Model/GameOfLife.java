@@ -22,12 +22,32 @@ public class GameOfLife extends Simulation {
 
   protected void initializeGridCells() {
     for (Coordinate c : setup.keySet()) {
-      Enum state = null;
-      switch (setup.get(c)) {
-        case 0 -> state = States.GameOfLife.DEAD;
-        case 1 -> state = States.GameOfLife.ALIVE;
-      }
-      grid.getCellMap().put(c, new GameOfLifeCell(c, state));
+      grid.setCell(c, createCell(c, setup.get(c)));
     }
   }
+
+  @Override
+  protected Cell createCell(Coordinate position, int state) {
+    return new GameOfLifeCell(position, (byte) state);
+  }
+
+  @Override
+  public boolean supportsDoubleBuffering() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsParallelStepping() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsIncrementalStepping() {
+    return true;
+  }
+
+  @Override
+  protected byte nextState(int row, int column) {
+    return GameOfLifeCell.nextState(grid, row, column);
+  }
 }
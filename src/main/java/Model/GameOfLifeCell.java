@@ -9,33 +9,58 @@ package Model;
  */
 public class GameOfLifeCell extends Cell {
 
-  public GameOfLifeCell(Coordinate position, Enum initialState) {
+  private static final byte DEAD = (byte) States.GameOfLife.DEAD.ordinal();
+  private static final byte ALIVE = (byte) States.GameOfLife.ALIVE.ordinal();
+  private static final Enum[] STATE_VALUES = States.GameOfLife.values();
+
+  /**
+   * @param position     `Coordinate` of the cell in the grid
+   * @param initialState byte code of the initial state of the cell
+   */
+  public GameOfLifeCell(Coordinate position, byte initialState) {
     super(position, initialState);
   }
 
+  @Override
+  protected Enum[] getStateValues() {
+    return STATE_VALUES;
+  }
+
   protected void updateState() {
     currentState = futureState;
   }
 
   protected void determineNextState(Grid grid) {
-    int alive = countLivingNeighbors(grid);
+    futureState = nextState(grid, position.getRow(), position.getColumn());
+  }
+
+  /**
+   * method for applying the rules of the Game of Life to the cell at a given position, reading
+   * only the current states stored in the grid
+   *
+   * @param grid   the `Grid` holding the current states
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's next state
+   */
+  protected static byte nextState(Grid grid, int row, int column) {
+    int alive = countLivingNeighbors(grid, row, column);
     if (alive == 2) {
-      futureState = currentState;
+      return grid.getState(row, column);
     } else if (alive < 2 || alive > 3) {
-      futureState = States.GameOfLife.DEAD;
+      return DEAD;
     } else {
-      futureState = States.GameOfLife.ALIVE;
+      return ALIVE;
     }
   }
 
-  private int countLivingNeighbors(Grid grid) {
+  private static int countLivingNeighbors(Grid grid, int row, int column) {
+    Neighborhood neighborhood = grid.getNeighborhood();
+    int index = grid.getIndex(row, column);
     int count = 0;
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        if (grid.getCellMap().get(neighbor).getCurrentState() == States.GameOfLife.ALIVE) {
-          count++;
-        }
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      if (grid.getState(neighborhood.getNeighbor(k)) == ALIVE) {
+        count++;
       }
     }
     return count;
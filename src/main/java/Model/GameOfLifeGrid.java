@@ -8,6 +8,6 @@ package Model;
 public class GameOfLifeGrid extends Grid {
 
   public GameOfLifeGrid(int numberOfRows, int numberOfColumns) {
-    super(numberOfRows, numberOfColumns);
+    super(numberOfRows, numberOfColumns, States.GameOfLife.values());
   }
 }
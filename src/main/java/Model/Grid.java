@@ -1,30 +1,249 @@
 package Model;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Abstract class for representing the grid of a cellular automata given a desired number of grids
- * and columns. The grid itself is stored in a `Map<Coordinate, Cell>` to represent the grid as a
- * graph, and protected methods are leveraged to limit the usage of internal methods to extensions
+ * and columns. The grid itself is stored in flat arrays indexed by `row * numberOfColumns +
+ * column`, and protected methods are leveraged to limit the usage of internal methods to extensions
  * of the class.
  *
  * @author Matthew Giglio
  */
 public abstract class Grid {
 
-  protected Map<Coordinate, Cell> cellMap;
+  protected Cell[] cells;
+  protected byte[] states;
   protected int numberOfColumns;
   protected int numberOfRows;
+  protected Enum[] stateValues;
+  private volatile Neighborhood neighborhood;
+  private CoordinatePool coordinates;
+  private final Map<Coordinate, Cell> cellMap;
+  private final int[] populations;
+  private int numberOfCells;
 
-  protected Grid(int numberOfRows, int numberOfColumns) {
+  protected Grid(int numberOfRows, int numberOfColumns, Enum[] stateValues) {
+    this(numberOfRows, numberOfColumns, stateValues, true);
+  }
+
+  /**
+   * constructor that lets extensions which keep the states in a representation of their own skip
+   * allocating the cell and state arrays, in which case the grid never has a neighbor table. Such
+   * extensions override both `getState` methods and only hand out read-only views from `getCell`
+   *
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param stateValues     the states a cell of the grid can be in, ordered by byte code
+   * @param allocateArrays  whether to allocate the cell and state arrays
+   */
+  protected Grid(int numberOfRows, int numberOfColumns, Enum[] stateValues,
+      boolean allocateArrays) {
     this.numberOfColumns = numberOfColumns;
     this.numberOfRows = numberOfRows;
-    cellMap = new HashMap<>();
+    this.stateValues = stateValues;
+    if (allocateArrays) {
+      cells = new Cell[numberOfRows * numberOfColumns];
+      states = new byte[numberOfRows * numberOfColumns];
+    } else {
+      numberOfCells = numberOfRows * numberOfColumns;
+    }
+    cellMap = new CellMapView();
+    populations = new int[stateValues.length];
+  }
+
+  /**
+   * getter method for the number of rows in the grid
+   *
+   * @return the number of rows in the grid
+   */
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  /**
+   * getter method for the number of columns in the grid
+   *
+   * @return the number of columns in the grid
+   */
+  public int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+
+  /**
+   * getter method for the states a cell of the grid can be in, indexed by their byte codes
+   *
+   * @return the values of the grid's `States` enum
+   */
+  public Enum[] getStateValues() {
+    return stateValues;
+  }
+
+  /**
+   * method for converting a row and column into the position of the cell in the grid's arrays
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the linear index of the cell
+   */
+  public int getIndex(int row, int column) {
+    return row * numberOfColumns + column;
+  }
+
+  /**
+   * method for converting a position into the position of its cell in the grid's arrays. Pooled
+   * coordinates of the grid's dimensions carry their linear index, which is read instead of being
+   * computed
+   *
+   * @param position `Coordinate` of the cell
+   * @return the linear index of the cell
+   */
+  public int getIndex(Coordinate position) {
+    if (coordinates().contains(position)) {
+      return position.getIndex();
+    }
+    return getIndex(position.getRow(), position.getColumn());
+  }
+
+  /**
+   * getter method for the canonical `Coordinate` of a position in the grid, which is shared rather
+   * than allocated. The grid only looks up the pool of its dimensions the first time a position is
+   * asked for
+   *
+   * @param row    row index of the position
+   * @param column column index of the position
+   * @return the pooled `Coordinate` of the position
+   */
+  public Coordinate getCoordinate(int row, int column) {
+    return coordinates().get(row, column);
+  }
+
+  /**
+   * getter method for the canonical `Coordinate` of a position given by its linear index
+   *
+   * @param index linear index of the position, as returned by `getIndex`
+   * @return the pooled `Coordinate` of the position
+   */
+  public Coordinate getCoordinate(int index) {
+    return coordinates().get(index);
+  }
+
+  // a race between threads can look the pool up twice, which is harmless as positions from pools
+  // of the same dimensions are equal
+  private CoordinatePool coordinates() {
+    if (coordinates == null) {
+      coordinates = CoordinatePool.forDimensions(numberOfRows, numberOfColumns);
+    }
+    return coordinates;
+  }
+
+  /**
+   * getter method for the cell at a given row and column. While the grid holds no cell objects,
+   * for instance while its simulation runs double buffered, a read-only view of the stored state
+   * is returned instead
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the cell stored at that position
+   */
+  public Cell getCell(int row, int column) {
+    if (cells == null) {
+      return new StateView(getCoordinate(row, column), getState(row, column), stateValues);
+    }
+    return cells[getIndex(row, column)];
+  }
+
+  /**
+   * getter method for the cell at a given position
+   *
+   * @param position `Coordinate` of the cell
+   * @return the cell stored at that position
+   */
+  public Cell getCell(Coordinate position) {
+    if (cells == null) {
+      return getCell(position.getRow(), position.getColumn());
+    }
+    return cells[getIndex(position)];
+  }
+
+  /**
+   * getter method for the byte code of the current state of the cell at a given row and column,
+   * which is the ordinal of the state in its `States` enum
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's current state
+   */
+  public byte getState(int row, int column) {
+    return states[getIndex(row, column)];
+  }
+
+  /**
+   * getter method for the byte code of the current state of the cell at a given linear index
+   *
+   * @param index linear index of the cell, as returned by `getIndex`
+   * @return the byte code of the cell's current state
+   */
+  public byte getState(int index) {
+    return states[index];
+  }
+
+  /**
+   * getter method for the number of cells of the grid in a given state, which is kept up to date
+   * as states are written instead of being counted
+   *
+   * @param state byte code of the state
+   * @return the number of cells in that state
+   */
+  public int getPopulation(int state) {
+    return populations[state];
   }
 
   /**
-   * getter method for getting the Map object that stores the graph representation of the grid
+   * getter method for the precomputed neighbors of the grid's cells, which rules use to visit a
+   * neighborhood without allocating. Unless another table was set, the table of the eight
+   * surrounding cells within the grid is built the first time it is asked for, so grids whose
+   * rules never visit a neighborhood through it never pay for it
+   *
+   * @return the neighbor table of the grid, or null for grids that keep no state array
+   */
+  public Neighborhood getNeighborhood() {
+    Neighborhood table = neighborhood;
+    if (table == null && hasNeighborhood()) {
+      table = buildNeighborhood();
+    }
+    return table;
+  }
+
+  // bands of rows stepped on separate threads can ask for the table at the same time
+  private synchronized Neighborhood buildNeighborhood() {
+    if (neighborhood == null) {
+      neighborhood = new Neighborhood(numberOfRows, numberOfColumns);
+    }
+    return neighborhood;
+  }
+
+  /**
+   * @return boolean whether the grid keeps a state array its neighbor table can index into
+   */
+  boolean hasNeighborhood() {
+    return states != null;
+  }
+
+  protected void setNeighborhood(Neighborhood neighborhood) {
+    this.neighborhood = neighborhood;
+  }
+
+  /**
+   * getter method for the Map object that stores the graph representation of the grid. The map is
+   * a view backed by the grid's arrays, kept for compatibility with callers that look cells up by
+   * `Coordinate`
    *
    * @return the map holding the graph representation of the object
    */
@@ -39,9 +258,230 @@ public abstract class Grid {
    * @return boolean whether the coordinate can exist within the grid dimensions
    */
   public boolean isInBounds(Coordinate position) {
-    return position.getRow() >= 0 && position.getRow() < numberOfRows &&
-        position.getColumn() >= 0 && position.getColumn() < numberOfColumns;
+    return isInBounds(position.getRow(), position.getColumn());
+  }
+
+  /**
+   * method for checking if a given row and column lie within in the boundaries of the grid
+   *
+   * @param row    row index to check
+   * @param column column index to check
+   * @return boolean whether the position can exist within the grid dimensions
+   */
+  public boolean isInBounds(int row, int column) {
+    return row >= 0 && row < numberOfRows && column >= 0 && column < numberOfColumns;
+  }
+
+  protected Cell setCell(Coordinate position, Cell cell) {
+    if (cells == null) {
+      throw new UnsupportedOperationException("Cells are read-only while double buffered");
+    }
+    if (cell != null && (cell.getState() < 0 || cell.getState() >= stateValues.length)) {
+      throw new IllegalArgumentException("Not a valid state: " + cell.getState());
+    }
+    int index = getIndex(position);
+    Cell previous = cells[index];
+    if (previous == null && cell != null) {
+      numberOfCells++;
+    } else if (previous != null && cell == null) {
+      numberOfCells--;
+    }
+    if (previous != null) {
+      populations[states[index]]--;
+    }
+    cells[index] = cell;
+    if (cell != null) {
+      states[index] = cell.getState();
+      populations[states[index]]++;
+    }
+    return previous;
+  }
+
+  protected void recordState(Cell cell) {
+    recordState(cell, populations);
   }
 
+  /**
+   * method for copying the state of a cell into the state array, moving the cell from the count of
+   * its previous state to the count of its new state in `counts`. Bands of rows stepped on separate
+   * threads pass counts of their own, which are merged with `addPopulationChanges`
+   *
+   * @param cell   the cell whose state is recorded
+   * @param counts per-state counts to update, either the grid's populations or a band's changes
+   */
+  protected void recordState(Cell cell, int[] counts) {
+    int index = getIndex(cell.getPosition());
+    byte state = cell.getState();
+    if (states[index] != state) {
+      counts[states[index]]--;
+      counts[state]++;
+      states[index] = state;
+    }
+  }
 
+  protected void writeState(int index, byte state) {
+    populations[states[index]]--;
+    populations[state]++;
+    states[index] = state;
+  }
+
+  /**
+   * method for counting how the populations change when the states of the cells from one index up
+   * to another are replaced by those of the next generation, before the state arrays are swapped
+   *
+   * @param nextStates the next generation of the grid
+   * @param from       first index of the range
+   * @param to         index just past the end of the range
+   */
+  protected void countChanges(byte[] nextStates, int from, int to) {
+    int[] changes = new int[populations.length];
+    for (int i = from; i < to; i++) {
+      if (states[i] != nextStates[i]) {
+        changes[states[i]]--;
+        changes[nextStates[i]]++;
+      }
+    }
+    addPopulationChanges(changes);
+  }
+
+  protected synchronized void addPopulationChanges(int[] changes) {
+    for (int i = 0; i < changes.length; i++) {
+      populations[i] += changes[i];
+    }
+  }
+
+  protected void releaseCells() {
+    cells = null;
+    numberOfCells = states.length;
+    Arrays.fill(populations, 0);
+    for (byte state : states) {
+      populations[state]++;
+    }
+  }
+
+  protected void allocateCells() {
+    cells = new Cell[states.length];
+    numberOfCells = 0;
+    Arrays.fill(populations, 0);
+  }
+
+  protected byte[] swapStates(byte[] nextStates) {
+    byte[] previous = states;
+    states = nextStates;
+    return previous;
+  }
+
+  protected void swapCells(Coordinate c, Coordinate newHome) {
+    Cell current = getCell(c);
+    Cell swap = getCell(newHome);
+    current.setPosition(newHome);
+    swap.setPosition(c);
+    setCell(newHome, current);
+    setCell(c, swap);
+  }
+
+  /**
+   * `Map` view over the grid's cell array so that code written against the original
+   * `Map<Coordinate, Cell>` representation keeps working
+   */
+  private class CellMapView extends AbstractMap<Coordinate, Cell> {
+
+    @Override
+    public Cell get(Object key) {
+      if (key instanceof Coordinate position && isInBounds(position)) {
+        return getCell(position);
+      }
+      return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Cell put(Coordinate key, Cell value) {
+      if (!isInBounds(key)) {
+        throw new IllegalArgumentException("Coordinate out of bounds: " + key);
+      }
+      return setCell(key, value);
+    }
+
+    @Override
+    public int size() {
+      return numberOfCells;
+    }
+
+    @Override
+    public Set<Entry<Coordinate, Cell>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<Coordinate, Cell>> iterator() {
+          return new CellIterator();
+        }
+
+        @Override
+        public int size() {
+          return numberOfCells;
+        }
+      };
+    }
+  }
+
+  private class CellIterator implements Iterator<Map.Entry<Coordinate, Cell>> {
+
+    private int next = advance(0);
+
+    private int advance(int index) {
+      while (cells != null && index < cells.length && cells[index] == null) {
+        index++;
+      }
+      return index;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < numberOfRows * numberOfColumns;
+    }
+
+    @Override
+    public Map.Entry<Coordinate, Cell> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Coordinate position = getCoordinate(next);
+      Map.Entry<Coordinate, Cell> entry =
+          new AbstractMap.SimpleImmutableEntry<>(position, getCell(position));
+      next = advance(next + 1);
+      return entry;
+    }
+  }
+
+  /**
+   * read-only `Cell` handed out for a position while the grid holds no cell objects
+   */
+  private static class StateView extends Cell {
+
+    private final Enum[] stateValues;
+
+    private StateView(Coordinate position, byte state, Enum[] stateValues) {
+      super(position, state);
+      this.stateValues = stateValues;
+    }
+
+    @Override
+    protected Enum[] getStateValues() {
+      return stateValues;
+    }
+
+    @Override
+    protected void updateState() {
+      throw new UnsupportedOperationException("State views cannot be updated");
+    }
+
+    @Override
+    protected void determineNextState(Grid grid) {
+      throw new UnsupportedOperationException("State views cannot be updated");
+    }
+  }
 }
@@ -0,0 +1,92 @@
+package Model;
+
+/**
+ * Immutable copy of the states of a grid and of their populations after a given step of a
+ * simulation, so that a simulation stepping on one thread can be shown from another without the
+ * reader ever seeing a board halfway through a step.
+ */
+public class GridSnapshot {
+
+  private final long step;
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final Enum[] stateValues;
+  private final byte[] states;
+  private final int[] populations;
+
+  /**
+   * @param grid the grid to copy
+   * @param step number of steps the simulation had taken when the grid was copied
+   */
+  public GridSnapshot(Grid grid, long step) {
+    this.step = step;
+    numberOfRows = grid.getNumberOfRows();
+    numberOfColumns = grid.getNumberOfColumns();
+    stateValues = grid.getStateValues();
+    states = new byte[numberOfRows * numberOfColumns];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = grid.getState(i);
+    }
+    populations = new int[stateValues.length];
+    for (int state = 0; state < stateValues.length; state++) {
+      populations[state] = grid.getPopulation(state);
+    }
+  }
+
+  /**
+   * @return number of steps the simulation had taken when the grid was copied
+   */
+  public long getStep() {
+    return step;
+  }
+
+  /**
+   * @return number of rows of the grid
+   */
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  /**
+   * @return number of columns of the grid
+   */
+  public int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+
+  /**
+   * @return the states of the grid, ordered by byte code
+   */
+  public Enum[] getStateValues() {
+    return stateValues;
+  }
+
+  /**
+   * getter method for the byte code of the state of the cell at a given linear index
+   *
+   * @param index linear index of the cell, as returned by `Grid.getIndex`
+   * @return the byte code of the cell's state
+   */
+  public byte getState(int index) {
+    return states[index];
+  }
+
+  /**
+   * getter method for the byte code of the state of the cell at a given row and column
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's state
+   */
+  public byte getState(int row, int column) {
+    return states[row * numberOfColumns + column];
+  }
+
+  /**
+   * @param state byte code of a state
+   * @return the number of cells in that state
+   */
+  public int getPopulation(int state) {
+    return populations[state];
+  }
+}
@@ -0,0 +1,358 @@
+package Model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Quadtree engine for the Game of Life using Gosper's HashLife algorithm. The universe is an
+ * unbounded plane stored as a tree of square nodes, where a node of level `k` covers `2^k` by `2^k`
+ * cells and is split into four children of level `k - 1`. Nodes are canonicalized through a cache
+ * so that identical regions are shared, and every node remembers its successor, which lets
+ * periodic and repetitive patterns be advanced by `2^j` generations in one call.
+ * <p>
+ * The cache holds at most a fixed number of nodes and evicts the least recently used ones. Evicting
+ * a node never makes a result wrong: an identical region built later simply becomes a new node, and
+ * the successor memoized on the evicted node is dropped with it.
+ * <p>
+ * Plane coordinates are centered on the root: a root of level `k` covers rows and columns
+ * `[-2^(k-1), 2^(k-1))`, and growing or advancing the root keeps that center fixed.
+ */
+public final class HashLife {
+
+  /**
+   * default bound on the number of nodes kept in the canonicalization cache
+   */
+  public static final int DEFAULT_MAX_NODES = 1 << 20;
+  private static final int MIN_LEVEL = 3;
+
+  private final Node dead = new Node(false);
+  private final Node alive = new Node(true);
+  private final Map<Node, Node> cache;
+  private Node[] emptyNodes = new Node[0];
+  private Node root;
+
+  /**
+   * @param maxNodes maximum number of nodes kept in the canonicalization cache
+   */
+  public HashLife(int maxNodes) {
+    cache = new LinkedHashMap<>(1024, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Node, Node> eldest) {
+        if (size() > maxNodes) {
+          eldest.getKey().result = null;
+          return true;
+        }
+        return false;
+      }
+    };
+    root = empty(MIN_LEVEL);
+  }
+
+  /**
+   * getter method for the level of the root node, whose side is `2^level` cells
+   *
+   * @return the level of the root node
+   */
+  public int getLevel() {
+    return root.level;
+  }
+
+  /**
+   * getter method for the number of live cells on the plane
+   *
+   * @return the number of live cells
+   */
+  public long getPopulation() {
+    return root.population;
+  }
+
+  /**
+   * getter method for the number of nodes currently held in the canonicalization cache
+   *
+   * @return the number of cached nodes
+   */
+  public int getCacheSize() {
+    return cache.size();
+  }
+
+  /**
+   * method for checking whether the cell at a position of the plane is alive
+   *
+   * @param row    row of the cell in plane coordinates
+   * @param column column of the cell in plane coordinates
+   * @return boolean whether the cell is alive
+   */
+  public boolean isAlive(long row, long column) {
+    long half = 1L << (root.level - 1);
+    long y = row + half;
+    long x = column + half;
+    if (y < 0 || x < 0 || y >= 2 * half || x >= 2 * half) {
+      return false;
+    }
+    Node node = root;
+    while (node.level > 0) {
+      if (node.population == 0) {
+        return false;
+      }
+      long size = 1L << (node.level - 1);
+      boolean south = y >= size;
+      boolean east = x >= size;
+      node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+      y -= south ? size : 0;
+      x -= east ? size : 0;
+    }
+    return node.isAlive;
+  }
+
+  /**
+   * method for counting the live cells in a rectangle of the plane. Nodes lying entirely inside or
+   * outside the rectangle are counted from their population without being visited, so only the
+   * nodes along its border are walked
+   *
+   * @param fromRow    first row of the rectangle in plane coordinates
+   * @param fromColumn first column of the rectangle in plane coordinates
+   * @param toRow      row just past the bottom of the rectangle
+   * @param toColumn   column just past the right of the rectangle
+   * @return the number of live cells in the rectangle
+   */
+  public long countAlive(long fromRow, long fromColumn, long toRow, long toColumn) {
+    long half = 1L << (root.level - 1);
+    return countAlive(root, fromRow + half, fromColumn + half, toRow + half, toColumn + half);
+  }
+
+  // counts with the rectangle given relative to the node's north west corner
+  private long countAlive(Node node, long fromY, long fromX, long toY, long toX) {
+    long side = 1L << node.level;
+    if (node.population == 0 || toY <= 0 || toX <= 0 || fromY >= side || fromX >= side) {
+      return 0;
+    }
+    if (fromY <= 0 && fromX <= 0 && toY >= side && toX >= side) {
+      return node.population;
+    }
+    long size = side >>> 1;
+    return countAlive(node.nw, fromY, fromX, toY, toX)
+        + countAlive(node.ne, fromY, fromX - size, toY, toX - size)
+        + countAlive(node.sw, fromY - size, fromX, toY - size, toX)
+        + countAlive(node.se, fromY - size, fromX - size, toY - size, toX - size);
+  }
+
+  /**
+   * method for bringing the cell at a position of the plane to life, growing the root until it
+   * covers the position
+   *
+   * @param row    row of the cell in plane coordinates
+   * @param column column of the cell in plane coordinates
+   */
+  public void setAlive(long row, long column) {
+    long half = 1L << (root.level - 1);
+    while (row < -half || column < -half || row >= half || column >= half) {
+      root = centre(root);
+      half = 1L << (root.level - 1);
+    }
+    root = setAlive(root, row + half, column + half);
+  }
+
+  private Node setAlive(Node node, long y, long x) {
+    if (node.level == 0) {
+      return alive;
+    }
+    long size = 1L << (node.level - 1);
+    boolean south = y >= size;
+    boolean east = x >= size;
+    long childY = south ? y - size : y;
+    long childX = east ? x - size : x;
+    if (south) {
+      return east ? join(node.nw, node.ne, node.sw, setAlive(node.se, childY, childX))
+          : join(node.nw, node.ne, setAlive(node.sw, childY, childX), node.se);
+    }
+    return east ? join(node.nw, setAlive(node.ne, childY, childX), node.sw, node.se)
+        : join(setAlive(node.nw, childY, childX), node.ne, node.sw, node.se);
+  }
+
+  /**
+   * method for advancing the plane by any number of generations, made of one jump of `2^j`
+   * generations per set bit `j` of the count
+   *
+   * @param generations number of generations to advance
+   */
+  public void advance(long generations) {
+    if (generations < 0) {
+      throw new IllegalArgumentException("Cannot advance a negative number of generations");
+    }
+    for (int j = 0; generations != 0; j++, generations >>>= 1) {
+      if ((generations & 1) != 0) {
+        advanceByPowerOfTwo(j);
+      }
+    }
+  }
+
+  /**
+   * method for advancing the plane by `2^j` generations in one jump
+   *
+   * @param j exponent of the number of generations to advance
+   */
+  public void advanceByPowerOfTwo(int j) {
+    // the pattern has to sit in the central quarter of a node of level j + 3 or more, so that its
+    // growth over 2^j generations stays inside the central half returned by the successor
+    while (root.level < j + 2 || !isPadded(root)) {
+      root = centre(root);
+    }
+    root = successor(centre(root), j);
+  }
+
+  private boolean isPadded(Node node) {
+    return node.nw.population == node.nw.se.population
+        && node.ne.population == node.ne.sw.population
+        && node.sw.population == node.sw.ne.population
+        && node.se.population == node.se.nw.population;
+  }
+
+  private Node centre(Node node) {
+    Node border = empty(node.level - 1);
+    return join(join(border, border, border, node.nw), join(border, border, node.ne, border),
+        join(border, node.sw, border, border), join(node.se, border, border, border));
+  }
+
+  private Node empty(int level) {
+    if (level >= emptyNodes.length) {
+      Node[] grown = new Node[level + 1];
+      System.arraycopy(emptyNodes, 0, grown, 0, emptyNodes.length);
+      emptyNodes = grown;
+    }
+    if (emptyNodes[level] == null) {
+      emptyNodes[level] = level == 0 ? dead
+          : join(empty(level - 1), empty(level - 1), empty(level - 1), empty(level - 1));
+    }
+    return emptyNodes[level];
+  }
+
+  private Node join(Node nw, Node ne, Node sw, Node se) {
+    Node candidate = new Node(nw, ne, sw, se);
+    Node existing = cache.get(candidate);
+    if (existing != null) {
+      return existing;
+    }
+    cache.put(candidate, candidate);
+    return candidate;
+  }
+
+  /**
+   * method for computing the central half of a node `2^j` generations in the future, where `j` is
+   * at most the node's level minus two
+   */
+  private Node successor(Node node, int j) {
+    j = Math.min(j, node.level - 2);
+    if (node.result != null && node.resultStep == j) {
+      return node.result;
+    }
+    Node result;
+    if (node.population == 0) {
+      result = node.nw;
+    } else if (node.level == 2) {
+      result = lifeFourByFour(node);
+    } else {
+      Node c1 = successor(node.nw, j);
+      Node c2 = successor(join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw), j);
+      Node c3 = successor(node.ne, j);
+      Node c4 = successor(join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne), j);
+      Node c5 = successor(join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw), j);
+      Node c6 = successor(join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne), j);
+      Node c7 = successor(node.sw, j);
+      Node c8 = successor(join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw), j);
+      Node c9 = successor(node.se, j);
+      if (j < node.level - 2) {
+        result = join(join(c1.se, c2.sw, c4.ne, c5.nw), join(c2.se, c3.sw, c5.ne, c6.nw),
+            join(c4.se, c5.sw, c7.ne, c8.nw), join(c5.se, c6.sw, c8.ne, c9.nw));
+      } else {
+        result = join(successor(join(c1, c2, c4, c5), j), successor(join(c2, c3, c5, c6), j),
+            successor(join(c4, c5, c7, c8), j), successor(join(c5, c6, c8, c9), j));
+      }
+    }
+    node.result = result;
+    node.resultStep = j;
+    return result;
+  }
+
+  // advances the central 2 by 2 cells of a level 2 node by one generation
+  private Node lifeFourByFour(Node node) {
+    boolean[][] cells = new boolean[4][4];
+    Node[][] quadrants = {{node.nw, node.ne}, {node.sw, node.se}};
+    for (int qr = 0; qr < 2; qr++) {
+      for (int qc = 0; qc < 2; qc++) {
+        Node quadrant = quadrants[qr][qc];
+        cells[2 * qr][2 * qc] = quadrant.nw.isAlive;
+        cells[2 * qr][2 * qc + 1] = quadrant.ne.isAlive;
+        cells[2 * qr + 1][2 * qc] = quadrant.sw.isAlive;
+        cells[2 * qr + 1][2 * qc + 1] = quadrant.se.isAlive;
+      }
+    }
+    return join(nextCell(cells, 1, 1), nextCell(cells, 1, 2), nextCell(cells, 2, 1),
+        nextCell(cells, 2, 2));
+  }
+
+  private Node nextCell(boolean[][] cells, int row, int column) {
+    int count = 0;
+    for (int i = 0; i < Neighborhood.ROW_DELTA.length; i++) {
+      if (cells[row + Neighborhood.ROW_DELTA[i]][column + Neighborhood.COL_DELTA[i]]) {
+        count++;
+      }
+    }
+    return count == 3 || (count == 2 && cells[row][column]) ? alive : dead;
+  }
+
+  /**
+   * immutable square region of the plane, compared by the identity of its children so that the
+   * cache can canonicalize it
+   */
+  private static final class Node {
+
+    private final Node nw;
+    private final Node ne;
+    private final Node sw;
+    private final Node se;
+    private final int level;
+    private final long population;
+    private final boolean isAlive;
+    private final int hash;
+    private Node result;
+    private int resultStep = -1;
+
+    private Node(boolean isAlive) {
+      nw = ne = sw = se = null;
+      level = 0;
+      population = isAlive ? 1 : 0;
+      this.isAlive = isAlive;
+      hash = isAlive ? 1 : 0;
+    }
+
+    private Node(Node nw, Node ne, Node sw, Node se) {
+      this.nw = nw;
+      this.ne = ne;
+      this.sw = sw;
+      this.se = se;
+      level = nw.level + 1;
+      population = nw.population + ne.population + sw.population + se.population;
+      isAlive = false;
+      int h = System.identityHashCode(nw);
+      h = 31 * h + System.identityHashCode(ne);
+      h = 31 * h + System.identityHashCode(sw);
+      hash = 31 * h + System.identityHashCode(se);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Node that)) {
+        return false;
+      }
+      return nw == that.nw && ne == that.ne && sw == that.sw && se == that.se;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package Model;
+
+import java.util.Map;
+
+/**
+ * Alternate engine for the Game of Life built on the `HashLife` quadtree, meant for skipping many
+ * generations at once with `step`. Unlike the other Game of Life engines the board is a window onto
+ * an unbounded plane: cells that leave the board keep evolving outside of it instead of dying at
+ * the edge, so results only match the `GameOfLife` simulation for patterns that stay clear of the
+ * edges of the board.
+ */
+public class HashLifeGameOfLife extends Simulation {
+
+  private static final int ALIVE = States.GameOfLife.ALIVE.ordinal();
+
+  /**
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param setup           map storing integer representations of states in order to initialize
+   *                        simulation states
+   */
+  public HashLifeGameOfLife(int numberOfRows, int numberOfColumns,
+      Map<Coordinate, Integer> setup) {
+    super(numberOfRows, numberOfColumns, setup);
+  }
+
+  protected void createGrid() {
+    grid = new HashLifeGrid(numberOfRows, numberOfColumns,
+        new HashLife(HashLife.DEFAULT_MAX_NODES));
+  }
+
+  protected void initializeGridCells() {
+    if (setup instanceof InitialStates initial) {
+      for (int row = 0; row < numberOfRows; row++) {
+        for (int column = 0; column < numberOfColumns; column++) {
+          if (initial.getState(row, column) == ALIVE) {
+            ((HashLifeGrid) grid).setAlive(row, column);
+          }
+        }
+      }
+      return;
+    }
+    for (Map.Entry<Coordinate, Integer> entry : setup.entrySet()) {
+      if (entry.getValue() == ALIVE) {
+        ((HashLifeGrid) grid).setAlive(entry.getKey().getRow(), entry.getKey().getColumn());
+      }
+    }
+  }
+
+  @Override
+  public void update() {
+    step(1);
+  }
+
+  /**
+   * method for advancing the simulation by many generations at once, jumping `2^j` generations for
+   * every set bit `j` of the count
+   *
+   * @param generations number of generations to advance
+   */
+  @Override
+  public void step(long generations) {
+    ((HashLifeGrid) grid).getLife().advance(generations);
+    if (generations > 0) {
+      recordSteps(generations);
+    }
+  }
+}
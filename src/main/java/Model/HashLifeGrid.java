@@ -0,0 +1,57 @@
+package Model;
+
+/**
+ * Extension of the `Grid` superclass that shows a window of a `HashLife` plane. The grid's rows and
+ * columns are fixed positions on the plane, chosen when the grid is created, and no cell objects
+ * or state arrays are stored, so `getCell` only hands out read-only views.
+ */
+public class HashLifeGrid extends Grid {
+
+  private final HashLife life;
+  private final long rowOffset;
+  private final long columnOffset;
+
+  /**
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param life            the plane the grid is a window of
+   */
+  public HashLifeGrid(int numberOfRows, int numberOfColumns, HashLife life) {
+    super(numberOfRows, numberOfColumns, States.GameOfLife.values(), false);
+    this.life = life;
+    rowOffset = numberOfRows / 2;
+    columnOffset = numberOfColumns / 2;
+  }
+
+  @Override
+  public byte getState(int row, int column) {
+    return (byte) (life.isAlive(row - rowOffset, column - columnOffset) ? 1 : 0);
+  }
+
+  @Override
+  public byte getState(int index) {
+    return getState(index / numberOfColumns, index % numberOfColumns);
+  }
+
+  /**
+   * getter method for the number of cells of the window in a given state, counted from the
+   * populations stored in the quadtree so that whole regions are counted at once
+   *
+   * @param state byte code of the state
+   * @return the number of cells in that state
+   */
+  @Override
+  public int getPopulation(int state) {
+    long alive = life.countAlive(-rowOffset, -columnOffset, numberOfRows - rowOffset,
+        numberOfColumns - columnOffset);
+    return (int) (state == 0 ? (long) numberOfRows * numberOfColumns - alive : alive);
+  }
+
+  protected void setAlive(int row, int column) {
+    life.setAlive(row - rowOffset, column - columnOffset);
+  }
+
+  protected HashLife getLife() {
+    return life;
+  }
+}
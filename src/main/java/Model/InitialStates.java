@@ -0,0 +1,118 @@
+package Model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only `Map<Coordinate, Integer>` view over the byte codes of a board's states stored in
+ * row-major order, so that a board read from a file can be handed to a `Simulation` without first
+ * building a map entry per cell. Keys are the pooled `Coordinate` instances of the board's
+ * dimensions, looked up once the map is iterated, and are visited in row-major order. Engines that
+ * keep their grid in a representation of their own read the byte codes directly with `getState`
+ * instead of going through the map.
+ */
+public class InitialStates extends AbstractMap<Coordinate, Integer> {
+
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final byte[] states;
+
+  /**
+   * @param numberOfRows    number of rows of the board
+   * @param numberOfColumns number of columns of the board
+   * @param states          byte codes of the board's states in row-major order, at least one per
+   *                        cell; the array is used as is, not copied
+   */
+  public InitialStates(int numberOfRows, int numberOfColumns, byte[] states) {
+    if (states.length < numberOfRows * numberOfColumns) {
+      throw new IllegalArgumentException("Board has " + numberOfRows * numberOfColumns
+          + " cells but only " + states.length + " states were given");
+    }
+    this.numberOfRows = numberOfRows;
+    this.numberOfColumns = numberOfColumns;
+    this.states = states;
+  }
+
+  /**
+   * getter method for the byte code of the state of a cell of the board
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's state
+   */
+  public byte getState(int row, int column) {
+    return states[row * numberOfColumns + column];
+  }
+
+  /**
+   * @return number of rows of the board
+   */
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  /**
+   * @return number of columns of the board
+   */
+  public int getNumberOfColumns() {
+    return numberOfColumns;
+  }
+
+  @Override
+  public Integer get(Object key) {
+    if (key instanceof Coordinate position && position.getRow() >= 0
+        && position.getRow() < numberOfRows && position.getColumn() >= 0
+        && position.getColumn() < numberOfColumns) {
+      return (int) getState(position.getRow(), position.getColumn());
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return numberOfRows * numberOfColumns;
+  }
+
+  @Override
+  public Set<Entry<Coordinate, Integer>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<Coordinate, Integer>> iterator() {
+        return new Iterator<>() {
+          private final CoordinatePool coordinates =
+              CoordinatePool.forDimensions(numberOfRows, numberOfColumns);
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return next < size();
+          }
+
+          @Override
+          public Entry<Coordinate, Integer> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<Coordinate, Integer> entry = new SimpleImmutableEntry<>(coordinates.get(next),
+                (int) states[next]);
+            next++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return InitialStates.this.size();
+      }
+    };
+  }
+}
@@ -0,0 +1,228 @@
+package Model;
+
+/**
+ * Precomputed table of the neighbors of every cell of a grid, stored as linear indices so that
+ * cell rules can visit a neighborhood with plain array reads instead of building a `Coordinate`
+ * and checking its bounds for every neighbor. The neighbors of the cell at index `i` are
+ * `getNeighbor(k)` for `k` from `getStart(i)` up to `getEnd(i)`:
+ * <pre>
+ *   for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+ *     byte state = grid.getState(neighborhood.getNeighbor(k));
+ *   }
+ * </pre>
+ * The table is built once per grid from a `Shape`, which decides which surrounding cells are
+ * neighbors, and an `Edge`, which decides what happens to the neighbors that fall outside the grid,
+ * so that every combination costs the same per step.
+ */
+public final class Neighborhood {
+
+  /**
+   * row offsets of the eight neighbors of a cell, in the order the neighbors are listed
+   */
+  static final int[] ROW_DELTA = {-1, 1, 0, 0, 1, 1, -1, -1};
+  /**
+   * column offsets of the eight neighbors of a cell, in the order the neighbors are listed
+   */
+  static final int[] COL_DELTA = {0, 0, -1, 1, -1, 1, -1, 1};
+
+  /**
+   * which surrounding cells are the neighbors of a cell. The hexagonal and triangular shapes follow
+   * the tilings drawn by the visualizer: hexagons in odd columns sit half a row lower than those
+   * in even columns, and triangles whose row and column add up to an odd number point down
+   */
+  public enum Shape {
+    MOORE(new int[][]{ROW_DELTA}, new int[][]{COL_DELTA}),
+    VON_NEUMANN(new int[][]{{-1, 1, 0, 0}}, new int[][]{{0, 0, -1, 1}}),
+    // even columns, then odd columns
+    HEXAGONAL(new int[][]{{-1, 1, -1, 0, -1, 0}, {-1, 1, 0, 1, 0, 1}},
+        new int[][]{{0, 0, -1, -1, 1, 1}, {0, 0, -1, -1, 1, 1}}),
+    // triangles pointing up, then triangles pointing down; every triangle sharing a corner
+    TRIANGULAR(new int[][]{{0, 0, 0, 0, -1, -1, -1, 1, 1, 1, 1, 1},
+        {0, 0, 0, 0, 1, 1, 1, -1, -1, -1, -1, -1}},
+        new int[][]{{-2, -1, 1, 2, -1, 0, 1, -2, -1, 0, 1, 2},
+            {-2, -1, 1, 2, -1, 0, 1, -2, -1, 0, 1, 2}});
+
+    private final int[][] rowDeltas;
+    private final int[][] colDeltas;
+
+    Shape(int[][] rowDeltas, int[][] colDeltas) {
+      this.rowDeltas = rowDeltas;
+      this.colDeltas = colDeltas;
+    }
+
+    // the tilings with two kinds of cells keep one set of offsets per kind
+    private int variant(int row, int column) {
+      return switch (this) {
+        case HEXAGONAL -> column & 1;
+        case TRIANGULAR -> (row + column) & 1;
+        default -> 0;
+      };
+    }
+  }
+
+  /**
+   * what happens to the neighbors of a cell that fall outside the grid: finite edges drop them,
+   * toroidal edges wrap them around to the opposite side, and reflective edges mirror them back
+   * across the edge they crossed
+   */
+  public enum Edge {
+    FINITE,
+    TOROIDAL,
+    REFLECTIVE;
+
+    // whether every neighbor moved back onto the grid lands on a cell of the kind it would have
+    // been, since the cell it lands on would otherwise not list the original cell back. Mirroring a
+    // hexagon or triangle never does, and wrapping only does over an even number of rows or
+    // columns for the tilings whose kind of cell alternates along them
+    private boolean keepsTiling(Shape shape, int numberOfRows, int numberOfColumns) {
+      return switch (this) {
+        case FINITE -> true;
+        case TOROIDAL -> switch (shape) {
+          case HEXAGONAL -> numberOfColumns % 2 == 0;
+          case TRIANGULAR -> numberOfRows % 2 == 0 && numberOfColumns % 2 == 0;
+          default -> true;
+        };
+        case REFLECTIVE -> shape == Shape.MOORE || shape == Shape.VON_NEUMANN;
+      };
+    }
+
+    // maps a row or column onto the grid, or returns -1 when the neighbor is dropped
+    private int map(int position, int size) {
+      if (position >= 0 && position < size) {
+        return position;
+      }
+      return switch (this) {
+        case FINITE -> -1;
+        case TOROIDAL -> Math.floorMod(position, size);
+        case REFLECTIVE -> position < 0 ? Math.min(-position - 1, size - 1)
+            : Math.max(2 * size - position - 1, 0);
+      };
+    }
+  }
+
+  private final Shape shape;
+  private final Edge edge;
+  private final int[] start;
+  private final int[] neighbors;
+  private int maxNeighborCount;
+
+  /**
+   * builds the table of the eight surrounding neighbors of every cell of a grid with finite edges
+   *
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   */
+  Neighborhood(int numberOfRows, int numberOfColumns) {
+    this(numberOfRows, numberOfColumns, Shape.MOORE, Edge.FINITE);
+  }
+
+  /**
+   * builds the table of the neighbors of every cell of a grid for a shape and an edge policy. On
+   * toroidal grids too small for the shape, the same cell can be listed more than once, as it
+   * touches the cell from several sides. Every cell lists back the cells that list it, which is why
+   * the hexagonal and triangular shapes cannot have reflective edges, and can only have toroidal
+   * edges when wrapping around keeps every cell of the tiling next to cells of the other kind
+   *
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param shape           which surrounding cells are neighbors
+   * @param edge            what happens to neighbors outside the grid
+   * @throws IllegalArgumentException if the edge policy cannot keep the tiling of the shape on a
+   *                                  grid of these dimensions
+   */
+  public Neighborhood(int numberOfRows, int numberOfColumns, Shape shape, Edge edge) {
+    if (!edge.keepsTiling(shape, numberOfRows, numberOfColumns)) {
+      throw new IllegalArgumentException(String.format(
+          "%s edges do not fit a %dx%d grid of %s neighborhoods", edge, numberOfRows,
+          numberOfColumns, shape));
+    }
+    this.shape = shape;
+    this.edge = edge;
+    start = new int[numberOfRows * numberOfColumns + 1];
+    neighbors = new int[fill(numberOfRows, numberOfColumns, null)];
+    fill(numberOfRows, numberOfColumns, neighbors);
+  }
+
+  // lists the neighbors of every cell into the table, or only counts them when there is no table
+  // yet, so that the table can be allocated at its exact size
+  private int fill(int numberOfRows, int numberOfColumns, int[] table) {
+    int count = 0;
+    for (int row = 0; row < numberOfRows; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        int index = row * numberOfColumns + column;
+        int first = count;
+        start[index] = count;
+        int variant = shape.variant(row, column);
+        int[] rowDeltas = shape.rowDeltas[variant];
+        int[] colDeltas = shape.colDeltas[variant];
+        for (int i = 0; i < rowDeltas.length; i++) {
+          int r = edge.map(row + rowDeltas[i], numberOfRows);
+          int c = edge.map(column + colDeltas[i], numberOfColumns);
+          // a neighbor reflected back onto the cell itself is not a neighbor
+          if (r >= 0 && c >= 0 && r * numberOfColumns + c != index) {
+            if (table != null) {
+              table[count] = r * numberOfColumns + c;
+            }
+            count++;
+          }
+        }
+        maxNeighborCount = Math.max(maxNeighborCount, count - first);
+      }
+    }
+    start[start.length - 1] = count;
+    return count;
+  }
+
+  /**
+   * @return which surrounding cells are neighbors in the table
+   */
+  public Shape getShape() {
+    return shape;
+  }
+
+  /**
+   * @return what happens to neighbors outside the grid in the table
+   */
+  public Edge getEdge() {
+    return edge;
+  }
+
+  /**
+   * @param index linear index of a cell
+   * @return position in the table of the cell's first neighbor
+   */
+  public int getStart(int index) {
+    return start[index];
+  }
+
+  /**
+   * @param index linear index of a cell
+   * @return position in the table just past the cell's last neighbor
+   */
+  public int getEnd(int index) {
+    return start[index + 1];
+  }
+
+  /**
+   * @param k position in the table, between `getStart` and `getEnd` of a cell
+   * @return linear index of the neighbor stored at that position
+   */
+  public int getNeighbor(int k) {
+    return neighbors[k];
+  }
+
+  /**
+   * @return the largest number of neighbors any cell of the grid has
+   */
+  public int getMaxNeighborCount() {
+    return maxNeighborCount;
+  }
+
+  /**
+   * @param index linear index of a cell
+   * @return the number of neighbors of the cell
+   */
+  public int getNeighborCount(int index) {
+    return start[index + 1] - start[index];
+  }
+}
@@ -31,13 +31,32 @@ public class Percolation extends Simulation {
 
   protected void initializeGridCells() {
     for (Coordinate c : setup.keySet()) {
-      Enum state = null;
-      switch (setup.get(c)) {
-        case 0 -> state = States.Percolation.OPEN;
-        case 1 -> state = States.Percolation.PERCOLATED;
-        case 2 -> state = States.Percolation.BLOCKED;
-      }
-      grid.getCellMap().put(c, new PercolationCell(c, state));
+      grid.setCell(c, createCell(c, setup.get(c)));
     }
   }
+
+  @Override
+  protected Cell createCell(Coordinate position, int state) {
+    return new PercolationCell(position, (byte) state);
+  }
+
+  @Override
+  public boolean supportsDoubleBuffering() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsParallelStepping() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsIncrementalStepping() {
+    return true;
+  }
+
+  @Override
+  protected byte nextState(int row, int column) {
+    return PercolationCell.nextState(grid, row, column);
+  }
 }
@@ -0,0 +1,257 @@
+package Model;
+
+/**
+ * Companion to the `Percolation` simulation that analyzes a whole board at once instead of flooding
+ * it one step at a time. The open cells (OPEN or PERCOLATED) are grouped into clusters with a
+ * weighted union-find with path compression, using the same neighbors as `PercolationCell` (the
+ * neighbor table of the grid being analyzed, or the eight surrounding cells for raw boards), after
+ * which the following questions take constant or linear time:
+ * <ul>
+ *   <li>whether an open cluster spans from the top row to the bottom row</li>
+ *   <li>which cluster a cell belongs to and how large it is</li>
+ *   <li>the state the simulation settles in, where every open cell sharing a cluster with a
+ *   PERCOLATED cell becomes PERCOLATED</li>
+ * </ul>
+ * An analyzer can be reused for any number of boards of the same size, which avoids reallocating
+ * its arrays when sweeping over many random boards.
+ */
+public class PercolationAnalyzer {
+
+  private static final byte OPEN = (byte) States.Percolation.OPEN.ordinal();
+  private static final byte PERCOLATED = (byte) States.Percolation.PERCOLATED.ordinal();
+  private static final byte BLOCKED = (byte) States.Percolation.BLOCKED.ordinal();
+  // forward half of the eight neighbors, so that every pair of neighbors is only joined once
+  private static final int[] FORWARD_ROW_DELTA = {0, 1, 1, 1};
+  private static final int[] FORWARD_COL_DELTA = {1, -1, 0, 1};
+
+  private final int numberOfRows;
+  private final int numberOfColumns;
+  private final byte[] states;
+  private final int[] parent;
+  private final int[] size;
+  private final boolean[] reachedFromSource;
+  private final int[] topStamp;
+  private int analysisCount;
+  private boolean spanning;
+
+  /**
+   * @param numberOfRows    number of rows of the boards to analyze
+   * @param numberOfColumns number of columns of the boards to analyze
+   */
+  public PercolationAnalyzer(int numberOfRows, int numberOfColumns) {
+    this.numberOfRows = numberOfRows;
+    this.numberOfColumns = numberOfColumns;
+    int cells = numberOfRows * numberOfColumns;
+    states = new byte[cells];
+    parent = new int[cells];
+    size = new int[cells];
+    reachedFromSource = new boolean[cells];
+    topStamp = new int[cells];
+  }
+
+  /**
+   * method for analyzing the current states of a Percolation grid
+   *
+   * @param grid the grid to analyze, with the same dimensions as the analyzer
+   */
+  public void analyze(Grid grid) {
+    if (grid.getNumberOfRows() != numberOfRows || grid.getNumberOfColumns() != numberOfColumns) {
+      throw new IllegalArgumentException("Grid dimensions do not match the analyzer");
+    }
+    int index = 0;
+    for (int row = 0; row < numberOfRows; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        states[index++] = grid.getState(row, column);
+      }
+    }
+    analyzeStates(grid.getNeighborhood());
+  }
+
+  /**
+   * method for analyzing a board given as the byte codes of its states in row-major order
+   *
+   * @param board the states of the board, one per cell
+   */
+  public void analyze(byte[] board) {
+    if (board.length != states.length) {
+      throw new IllegalArgumentException("Board size does not match the analyzer");
+    }
+    System.arraycopy(board, 0, states, 0, states.length);
+    analyzeStates(null);
+  }
+
+  private void analyzeStates(Neighborhood neighborhood) {
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+      size[i] = 1;
+      reachedFromSource[i] = false;
+    }
+    if (neighborhood == null) {
+      joinSurroundingCells();
+    } else {
+      joinNeighbors(neighborhood);
+    }
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == PERCOLATED) {
+        reachedFromSource[find(i)] = true;
+      }
+    }
+    spanning = findSpanningCluster();
+  }
+
+  private void joinSurroundingCells() {
+    for (int row = 0; row < numberOfRows; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        int index = row * numberOfColumns + column;
+        if (states[index] == BLOCKED) {
+          continue;
+        }
+        for (int i = 0; i < FORWARD_ROW_DELTA.length; i++) {
+          int r = row + FORWARD_ROW_DELTA[i];
+          int c = column + FORWARD_COL_DELTA[i];
+          if (r < numberOfRows && c >= 0 && c < numberOfColumns
+              && states[r * numberOfColumns + c] != BLOCKED) {
+            union(index, r * numberOfColumns + c);
+          }
+        }
+      }
+    }
+  }
+
+  private void joinNeighbors(Neighborhood neighborhood) {
+    for (int index = 0; index < states.length; index++) {
+      if (states[index] == BLOCKED) {
+        continue;
+      }
+      for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+        int neighbor = neighborhood.getNeighbor(k);
+        if (states[neighbor] != BLOCKED) {
+          union(index, neighbor);
+        }
+      }
+    }
+  }
+
+  // a cluster spans when the root of an open cell in the top row is also the root of an open cell
+  // in the bottom row; roots touching the top row are stamped with the number of the analysis so
+  // that the stamps never need clearing
+  private boolean findSpanningCluster() {
+    analysisCount++;
+    for (int column = 0; column < numberOfColumns; column++) {
+      if (states[column] != BLOCKED) {
+        topStamp[find(column)] = analysisCount;
+      }
+    }
+    int bottomStart = (numberOfRows - 1) * numberOfColumns;
+    for (int column = 0; column < numberOfColumns; column++) {
+      if (states[bottomStart + column] != BLOCKED
+          && topStamp[find(bottomStart + column)] == analysisCount) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int find(int index) {
+    while (parent[index] != index) {
+      parent[index] = parent[parent[index]];
+      index = parent[index];
+    }
+    return index;
+  }
+
+  private void union(int first, int second) {
+    int firstRoot = find(first);
+    int secondRoot = find(second);
+    if (firstRoot == secondRoot) {
+      return;
+    }
+    if (size[firstRoot] < size[secondRoot]) {
+      parent[firstRoot] = secondRoot;
+      size[secondRoot] += size[firstRoot];
+    } else {
+      parent[secondRoot] = firstRoot;
+      size[firstRoot] += size[secondRoot];
+    }
+  }
+
+  /**
+   * method for checking whether an open cluster connects the top row of the board to the bottom
+   * row
+   *
+   * @return boolean whether the board percolates
+   */
+  public boolean percolates() {
+    return spanning;
+  }
+
+  /**
+   * method for identifying the cluster a cell belongs to. Two open cells are connected exactly when
+   * they have the same cluster
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the identifier of the cell's cluster, or -1 for a BLOCKED cell
+   */
+  public int getCluster(int row, int column) {
+    int index = row * numberOfColumns + column;
+    return states[index] == BLOCKED ? -1 : find(index);
+  }
+
+  /**
+   * getter method for the number of cells in the cluster of a cell
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the size of the cell's cluster, or 0 for a BLOCKED cell
+   */
+  public int getClusterSize(int row, int column) {
+    int cluster = getCluster(row, column);
+    return cluster < 0 ? 0 : size[cluster];
+  }
+
+  /**
+   * method for checking whether a cell is PERCOLATED once the simulation settles
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return boolean whether the cell ends up PERCOLATED
+   */
+  public boolean isPercolated(int row, int column) {
+    int cluster = getCluster(row, column);
+    return cluster >= 0 && reachedFromSource[cluster];
+  }
+
+  /**
+   * method for computing the states the simulation settles in, which `Percolation` would only
+   * reach after stepping once per cell of the longest path through a cluster
+   *
+   * @return the byte codes of the final states in row-major order
+   */
+  public byte[] getFinalStates() {
+    byte[] finalStates = new byte[states.length];
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == BLOCKED) {
+        finalStates[i] = BLOCKED;
+      } else {
+        finalStates[i] = reachedFromSource[find(i)] ? PERCOLATED : OPEN;
+      }
+    }
+    return finalStates;
+  }
+
+  /**
+   * method for counting the cells that are PERCOLATED once the simulation settles
+   *
+   * @return the number of cells that end up PERCOLATED
+   */
+  public int countPercolated() {
+    int count = 0;
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] != BLOCKED && reachedFromSource[find(i)]) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
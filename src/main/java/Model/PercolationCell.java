@@ -8,39 +8,59 @@ package Model;
  */
 public class PercolationCell extends Cell {
 
+  private static final byte OPEN = (byte) States.Percolation.OPEN.ordinal();
+  private static final byte PERCOLATED = (byte) States.Percolation.PERCOLATED.ordinal();
+  private static final Enum[] STATE_VALUES = States.Percolation.values();
+
   /**
    * @param position     `Coordinate` representing position of the cell in the grid
-   * @param initialState initializing state of the cell
+   * @param initialState byte code of the initializing state of the cell
    */
-  public PercolationCell(Coordinate position, Enum initialState) {
+  public PercolationCell(Coordinate position, byte initialState) {
     super(position, initialState);
   }
 
+  @Override
+  protected Enum[] getStateValues() {
+    return STATE_VALUES;
+  }
+
   protected void updateState() {
     currentState = futureState;
   }
 
 
   protected void determineNextState(Grid grid) {
-    if (currentState == States.Percolation.BLOCKED ||
-        currentState == States.Percolation.PERCOLATED) {
-      futureState = currentState;
-      return;
+    futureState = nextState(grid, position.getRow(), position.getColumn());
+  }
+
+  /**
+   * method for applying the rules of Percolation to the cell at a given position, reading only the
+   * current states stored in the grid
+   *
+   * @param grid   the `Grid` holding the current states
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's next state
+   */
+  protected static byte nextState(Grid grid, int row, int column) {
+    byte current = grid.getState(row, column);
+    if (current != OPEN) {
+      return current;
     }
-    if (canPercolate(grid)) {
-      futureState = States.Percolation.PERCOLATED;
+    if (canPercolate(grid, row, column)) {
+      return PERCOLATED;
     } else {
-      futureState = States.Percolation.OPEN;
+      return OPEN;
     }
   }
 
-  private boolean canPercolate(Grid grid) {
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        if (grid.getCellMap().get(neighbor).getCurrentState() == States.Percolation.PERCOLATED) {
-          return true;
-        }
+  private static boolean canPercolate(Grid grid, int row, int column) {
+    Neighborhood neighborhood = grid.getNeighborhood();
+    int index = grid.getIndex(row, column);
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      if (grid.getState(neighborhood.getNeighbor(k)) == PERCOLATED) {
+        return true;
       }
     }
     return false;
@@ -13,7 +13,7 @@ public class PercolationGrid extends Grid {
    * @param numberOfColumns number of columns in the grid
    */
   public PercolationGrid(int numberOfRows, int numberOfColumns) {
-    super(numberOfRows, numberOfColumns);
+    super(numberOfRows, numberOfColumns, States.Percolation.values());
   }
 
 }
@@ -0,0 +1,91 @@
+package Model;
+
+/**
+ * Ring buffer of the number of cells in every state after each of the most recent steps of a
+ * simulation. Recording a step copies one count per state out of the grid, and once the buffer is
+ * full every new step overwrites the oldest one, so the history of a long run costs a fixed amount
+ * of memory. Entries are numbered from the oldest one still held, at 0, to the newest, at
+ * `size() - 1`.
+ */
+public class PopulationHistory {
+
+  private final Enum[] stateValues;
+  private final int capacity;
+  private final int[] populations;
+  private final long[] steps;
+  private int next;
+  private int size;
+
+  /**
+   * @param stateValues the states whose populations are recorded, ordered by byte code
+   * @param capacity    number of steps held before the oldest ones are overwritten
+   */
+  public PopulationHistory(Enum[] stateValues, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("History must hold at least one step");
+    }
+    this.stateValues = stateValues;
+    this.capacity = capacity;
+    populations = new int[capacity * stateValues.length];
+    steps = new long[capacity];
+  }
+
+  protected void record(long step, Grid grid) {
+    int offset = next * stateValues.length;
+    for (int state = 0; state < stateValues.length; state++) {
+      populations[offset + state] = grid.getPopulation(state);
+    }
+    steps[next] = step;
+    next = (next + 1) % capacity;
+    size = Math.min(size + 1, capacity);
+  }
+
+  /**
+   * @return the number of steps currently held
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of steps held before the oldest ones are overwritten
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the states whose populations are recorded, ordered by byte code
+   */
+  public Enum[] getStateValues() {
+    return stateValues;
+  }
+
+  /**
+   * getter method for the step number of an entry, counted from the creation of the simulation
+   *
+   * @param entry position of the entry, 0 being the oldest one held
+   * @return the number of steps the simulation had taken when the entry was recorded
+   */
+  public long getStep(int entry) {
+    return steps[slot(entry)];
+  }
+
+  /**
+   * getter method for the number of cells in a state at an entry
+   *
+   * @param entry position of the entry, 0 being the oldest one held
+   * @param state the state to look up
+   * @return the number of cells in that state when the entry was recorded
+   */
+  public int getPopulation(int entry, Enum state) {
+    return populations[slot(entry) * stateValues.length + state.ordinal()];
+  }
+
+  private int slot(int entry) {
+    if (entry < 0 || entry >= size) {
+      throw new IndexOutOfBoundsException("No entry " + entry + " in a history of " + size);
+    }
+    return Math.floorMod(next - size + entry, capacity);
+  }
+}
@@ -0,0 +1,50 @@
+package Model;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that splits the rows of a grid into bands and applies an action to every band.
+ * Used by `Simulation` to step simulations whose cells only read the current states of their
+ * neighbors and only write their own next state, so that bands can safely run on separate threads.
+ */
+class RowBandTask extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * action applied to the half-open range of rows `[fromRow, toRow)`
+   */
+  interface BandAction {
+
+    void apply(int fromRow, int toRow);
+  }
+
+  private final BandAction action;
+  private final int fromRow;
+  private final int toRow;
+  private final int bandSize;
+
+  /**
+   * @param action   the action to apply to each band
+   * @param fromRow  first row covered by the task
+   * @param toRow    row after the last row covered by the task
+   * @param bandSize maximum number of rows a task handles without splitting further
+   */
+  RowBandTask(BandAction action, int fromRow, int toRow, int bandSize) {
+    this.action = action;
+    this.fromRow = fromRow;
+    this.toRow = toRow;
+    this.bandSize = bandSize;
+  }
+
+  @Override
+  protected void compute() {
+    if (toRow - fromRow <= bandSize) {
+      action.apply(fromRow, toRow);
+      return;
+    }
+    int middle = (fromRow + toRow) >>> 1;
+    invokeAll(new RowBandTask(action, fromRow, middle, bandSize),
+        new RowBandTask(action, middle, toRow, bandSize));
+  }
+}
@@ -36,16 +36,11 @@ public class Segregation extends Simulation {
       return;
     }
     for (Coordinate c : setup.keySet()) {
-      Enum state = null;
-      switch (setup.get(c)) {
-        case 0 -> {
-          state = States.Segregation.EMPTY;
-          ((SegregationGrid) grid).setEmptySpots(c);
-        }
-        case 1 -> state = States.Segregation.REP;
-        case 2 -> state = States.Segregation.DEM;
+      byte state = setup.get(c).byteValue();
+      if (state == States.Segregation.EMPTY.ordinal()) {
+        ((SegregationGrid) grid).setEmptySpots(c);
       }
-      grid.getCellMap().put(c, new SegregationCell(c, state, grid, threshold));
+      grid.setCell(c, new SegregationCell(c, state, grid, threshold));
     }
 
   }
@@ -8,17 +8,22 @@ package Model;
  */
 public class SegregationCell extends Cell {
 
+  private static final byte EMPTY = (byte) States.Segregation.EMPTY.ordinal();
+  private static final byte DEM = (byte) States.Segregation.DEM.ordinal();
+  private static final byte REP = (byte) States.Segregation.REP.ordinal();
+  private static final Enum[] STATE_VALUES = States.Segregation.values();
+
   private boolean dissatisfied;
   private double threshold;
   private SegregationGrid grid;
 
   /**
    * @param position     `Coordinate` value of the cell on the grid
-   * @param initialState initial state of the cell
+   * @param initialState byte code of the initial state of the cell
    * @param grid         the `Grid` object in which the cell exists
    * @param threshold    satisfaction threshold for constituents given their neighbors
    */
-  public SegregationCell(Coordinate position, Enum initialState, Grid grid,
+  public SegregationCell(Coordinate position, byte initialState, Grid grid,
       double threshold) {
     super(position, initialState);
     this.threshold = threshold;
@@ -27,6 +32,11 @@ public class SegregationCell extends Cell {
   }
 
 
+  @Override
+  protected Enum[] getStateValues() {
+    return STATE_VALUES;
+  }
+
   protected void updateState() {
     if (dissatisfied) {
       grid.moveCell(position);
@@ -37,23 +47,23 @@ public class SegregationCell extends Cell {
   protected void determineNextState(Grid grid) {
     int dems = 0;
     int reps = 0;
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        if (grid.getCellMap().get(neighbor).getCurrentState() == States.Segregation.DEM) {
-          dems++;
-        } else if (grid.getCellMap().get(neighbor).getCurrentState() == States.Segregation.REP) {
-          reps++;
-        }
+    Neighborhood neighborhood = grid.getNeighborhood();
+    int index = grid.getIndex(position);
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      byte state = grid.getState(neighborhood.getNeighbor(k));
+      if (state == DEM) {
+        dems++;
+      } else if (state == REP) {
+        reps++;
       }
     }
     checkIfSatisfied(dems, reps);
   }
 
   private void checkIfSatisfied(int dems, int reps) {
-    if (currentState == States.Segregation.EMPTY) {
+    if (currentState == EMPTY) {
       dissatisfied = false;
-    } else if (currentState == States.Segregation.DEM) {
+    } else if (currentState == DEM) {
       if (dems * 1.0 / (dems + reps) < threshold) {
         dissatisfied = true;
       }
@@ -19,7 +19,7 @@ public class SegregationGrid extends Grid {
    * @param numberOfColumns number of columns in the grid
    */
   public SegregationGrid(int numberOfRows, int numberOfColumns) {
-    super(numberOfRows, numberOfColumns);
+    super(numberOfRows, numberOfColumns, States.Segregation.values());
     emptySpots = new ArrayList<>();
     random = new Random();
   }
@@ -31,17 +31,8 @@ public class SegregationGrid extends Grid {
   protected void moveCell(Coordinate c) {
     if (emptySpots.size() != 0) {
       Coordinate newHome = emptySpots.remove(random.nextInt(emptySpots.size()));
-      makeSwap(c, newHome);
+      swapCells(c, newHome);
       setEmptySpots(c);
     }
   }
-
-  private void makeSwap(Coordinate c, Coordinate newHome) {
-    Cell current = cellMap.get(c);
-    Cell swap = cellMap.get(newHome);
-    current.setPosition(newHome);
-    swap.setPosition(c);
-    cellMap.put(newHome, current);
-    cellMap.put(c, swap);
-  }
 }
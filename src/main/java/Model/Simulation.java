@@ -1,7 +1,9 @@
 package Model;
 
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Abstract class for storing the fundamental attributes of a cellular automata simulation. The
@@ -12,10 +14,21 @@ import java.util.Map;
  */
 public abstract class Simulation {
 
+  /**
+   * number of steps whose populations are kept unless `setHistoryLength` says otherwise
+   */
+  public static final int DEFAULT_HISTORY_LENGTH = 256;
+
   protected Grid grid;
   protected int numberOfColumns;
   protected int numberOfRows;
   protected Map<Coordinate, Integer> setup;
+  private boolean doubleBuffered;
+  private byte[] nextStates;
+  private ForkJoinPool pool;
+  private ActiveRegion activeRegion;
+  private long stepCount;
+  private PopulationHistory history;
 
   public Simulation(int numberOfRows, int numberOfColumns, Map<Coordinate, Integer> setup) {
     this.numberOfColumns = numberOfColumns;
@@ -23,6 +36,7 @@ public abstract class Simulation {
     this.setup = setup;
     createGrid();
     initializeGridCells();
+    setHistoryLength(DEFAULT_HISTORY_LENGTH);
   }
 
   /**
@@ -38,26 +52,397 @@ public abstract class Simulation {
 
   protected abstract void initializeGridCells();
 
+  /**
+   * method for checking whether the simulation's rules can be applied to raw state arrays, which
+   * is required for running the simulation double buffered
+   *
+   * @return boolean whether the simulation supports double buffering
+   */
+  public boolean supportsDoubleBuffering() {
+    return false;
+  }
+
+  /**
+   * getter method for whether the simulation is currently running double buffered
+   *
+   * @return boolean whether the simulation is double buffered
+   */
+  public boolean isDoubleBuffered() {
+    return doubleBuffered;
+  }
+
+  /**
+   * method for switching double buffering on or off. While on, the grid's cell objects are released
+   * and each step writes the next generation into a second state array which is then swapped with
+   * the grid's, so no cell objects are visited. Switching it off rebuilds the cell objects from the
+   * current states
+   *
+   * @param enabled whether the simulation should run double buffered
+   */
+  public void setDoubleBuffered(boolean enabled) {
+    if (enabled == doubleBuffered) {
+      return;
+    }
+    if (enabled && !supportsDoubleBuffering()) {
+      throw new UnsupportedOperationException(
+          getClass().getSimpleName() + " does not support double buffering");
+    }
+    doubleBuffered = enabled;
+    if (enabled) {
+      nextStates = new byte[grid.states.length];
+      grid.releaseCells();
+    } else {
+      nextStates = null;
+      grid.allocateCells();
+      for (int row = 0; row < numberOfRows; row++) {
+        for (int column = 0; column < numberOfColumns; column++) {
+          Coordinate c = grid.getCoordinate(row, column);
+          grid.setCell(c, createCell(c, grid.getState(row, column)));
+        }
+      }
+    }
+  }
+
+  /**
+   * method for checking whether the simulation's cells only read the current states of their
+   * neighbors and only write their own next state, drawing any randomness from the cell and the
+   * step rather than from a shared generator, so that separate bands of rows can be stepped on
+   * separate threads with results identical to stepping sequentially
+   *
+   * @return boolean whether the simulation supports parallel stepping
+   */
+  public boolean supportsParallelStepping() {
+    return false;
+  }
+
+  /**
+   * getter method for the number of threads used to step the simulation
+   *
+   * @return the number of threads used to step the simulation, 1 when stepping sequentially
+   */
+  public int getParallelism() {
+    return pool == null ? 1 : pool.getParallelism();
+  }
+
+  /**
+   * method for choosing how many threads are used to step the simulation. A parallelism of 1 steps
+   * the simulation sequentially on the calling thread
+   *
+   * @param parallelism the number of threads to step the simulation with
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    if (parallelism > 1 && !supportsParallelStepping()) {
+      throw new UnsupportedOperationException(
+          getClass().getSimpleName() + " does not support parallel stepping");
+    }
+    if (pool != null) {
+      pool.shutdown();
+    }
+    pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+  }
+
+  /**
+   * method for checking whether a cell of the simulation keeps its state as long as neither it nor
+   * any of its neighbors changes, which is required for stepping the simulation incrementally
+   *
+   * @return boolean whether the simulation supports incremental stepping
+   */
+  public boolean supportsIncrementalStepping() {
+    return false;
+  }
+
+  /**
+   * getter method for whether the simulation is currently stepped incrementally
+   *
+   * @return boolean whether the simulation is stepped incrementally
+   */
+  public boolean isIncremental() {
+    return activeRegion != null;
+  }
+
+  /**
+   * method for switching incremental stepping on or off. While on, each step only evaluates the
+   * cells that changed during the previous step and their neighbors, on the calling thread, with
+   * the same result as evaluating every cell. The first step after switching it on evaluates every
+   * cell
+   *
+   * @param enabled whether the simulation should be stepped incrementally
+   */
+  public void setIncremental(boolean enabled) {
+    if (enabled && !supportsIncrementalStepping()) {
+      throw new UnsupportedOperationException(
+          getClass().getSimpleName() + " does not support incremental stepping");
+    }
+    activeRegion = enabled ? new ActiveRegion(grid) : null;
+  }
+
+  /**
+   * getter method for the number of cells the next incremental step will evaluate
+   *
+   * @return the number of active cells, or the number of cells in the grid when the simulation is
+   * not stepped incrementally
+   */
+  public int getActiveCellCount() {
+    return activeRegion == null ? numberOfRows * numberOfColumns : activeRegion.getActiveCount();
+  }
+
+  /**
+   * method for choosing which cells are neighbors and what happens at the edges of the grid. The
+   * choice is compiled into the grid's neighbor table, so every shape and edge policy costs the
+   * same per step. Incremental stepping starts over from every cell being active
+   *
+   * @param shape which surrounding cells are the neighbors of a cell
+   * @param edge  what happens to the neighbors of a cell that fall outside the grid
+   */
+  public void setNeighborhood(Neighborhood.Shape shape, Neighborhood.Edge edge) {
+    if (!grid.hasNeighborhood()) {
+      throw new UnsupportedOperationException(
+          getClass().getSimpleName() + " does not support other neighborhoods");
+    }
+    grid.setNeighborhood(new Neighborhood(numberOfRows, numberOfColumns, shape, edge));
+    if (activeRegion != null) {
+      activeRegion = new ActiveRegion(grid);
+    }
+  }
+
+  /**
+   * getter method for the number of steps the simulation has taken since it was created
+   *
+   * @return the number of steps taken
+   */
+  public long getStepCount() {
+    return stepCount;
+  }
+
+  /**
+   * method for carrying on the count of steps of a run that was saved and loaded again, so that
+   * rules drawing on the step, such as the random draws of `SpreadingFire`, continue where they
+   * stopped. The population history starts over from that step
+   *
+   * @param steps number of steps the run had taken when it was saved
+   */
+  public void setStepCount(long steps) {
+    if (steps < 0) {
+      throw new IllegalArgumentException("Step count cannot be negative");
+    }
+    stepCount = steps;
+    setHistoryLength(history.getCapacity());
+  }
+
+  /**
+   * getter method for the number of cells currently in a state
+   *
+   * @param state a value of the simulation's `States` enum
+   * @return the number of cells in that state
+   */
+  public int getPopulation(Enum state) {
+    return grid.getPopulation(state.ordinal());
+  }
+
+  /**
+   * getter method for the number of cells currently in every state, in the form taken by
+   * `DataGraph`
+   *
+   * @return map from every state, in the order of its `States` enum, to its number of cells
+   */
+  public Map<Enum, Integer> getPopulations() {
+    Map<Enum, Integer> populations = new LinkedHashMap<>();
+    for (Enum state : grid.getStateValues()) {
+      populations.put(state, grid.getPopulation(state.ordinal()));
+    }
+    return populations;
+  }
+
+  /**
+   * method for copying the current states of the grid, so that they can be read while the
+   * simulation keeps stepping
+   *
+   * @return the states and populations of the grid after the current step
+   */
+  public GridSnapshot takeSnapshot() {
+    return new GridSnapshot(getGrid(), stepCount);
+  }
+
+  /**
+   * getter method for the populations of the most recent steps, including the initial state
+   * until it is overwritten
+   *
+   * @return the history of the simulation's populations
+   */
+  public PopulationHistory getPopulationHistory() {
+    return history;
+  }
+
+  /**
+   * method for choosing how many of the most recent steps are kept in the population history. The
+   * history starts over from the current step
+   *
+   * @param steps number of steps to keep
+   */
+  public void setHistoryLength(int steps) {
+    history = new PopulationHistory(grid.getStateValues(), steps);
+    history.record(stepCount, grid);
+  }
+
   /**
    * method for updating the states of the cells in the model given the model's rules. Made public
    * so that the view portion of the program can utilize the method to properly update the graphics
    * at each time step
    */
   public void update() {
-    determineNewCellStates();
-    updateCellStates();
+    updateGrid();
+    recordSteps(1);
+  }
+
+  /**
+   * method for applying one step of the model's rules to the grid. Engines that keep the grid in a
+   * representation of their own override it
+   */
+  protected void updateGrid() {
+    if (activeRegion != null) {
+      updateActiveCells();
+      return;
+    }
+    if (doubleBuffered) {
+      byte[] next = nextStates;
+      forEachRowBand((fromRow, toRow) -> {
+        determineNextStates(next, fromRow, toRow);
+        grid.countChanges(next, fromRow * numberOfColumns, toRow * numberOfColumns);
+      });
+      nextStates = grid.swapStates(next);
+      return;
+    }
+    forEachRowBand(this::determineNewCellStates);
+    forEachRowBand(this::updateCellStates);
+  }
+
+  protected void recordSteps(long generations) {
+    stepCount += generations;
+    history.record(stepCount, grid);
+  }
+
+  /**
+   * method for advancing the simulation by a number of generations at once. Engines that can skip
+   * generations override it, the others apply `update` once per generation
+   *
+   * @param generations number of generations to advance
+   */
+  public void step(long generations) {
+    if (generations < 0) {
+      throw new IllegalArgumentException("Cannot step a negative number of generations");
+    }
+    for (long i = 0; i < generations; i++) {
+      update();
+    }
+  }
+
+  private void updateActiveCells() {
+    int count = activeRegion.getActiveCount();
+    byte[] states = grid.states;
+    if (doubleBuffered) {
+      for (int k = 0; k < count; k++) {
+        int index = activeRegion.getActiveCell(k);
+        nextStates[k] = nextState(index / numberOfColumns, index % numberOfColumns);
+      }
+      for (int k = 0; k < count; k++) {
+        int index = activeRegion.getActiveCell(k);
+        if (states[index] != nextStates[k]) {
+          grid.writeState(index, nextStates[k]);
+          activeRegion.markChanged(index);
+        }
+      }
+    } else {
+      Cell[] cells = grid.cells;
+      for (int k = 0; k < count; k++) {
+        Cell cell = cells[activeRegion.getActiveCell(k)];
+        if (cell != null) {
+          cell.determineNextState(grid);
+        }
+      }
+      for (int k = 0; k < count; k++) {
+        int index = activeRegion.getActiveCell(k);
+        Cell cell = cells[index];
+        if (cell != null) {
+          byte previous = states[index];
+          cell.updateState();
+          grid.recordState(cell);
+          if (states[index] != previous) {
+            activeRegion.markChanged(index);
+          }
+        }
+      }
+    }
+    activeRegion.advance();
+  }
+
+  protected void forEachRowBand(RowBandTask.BandAction action) {
+    if (pool == null) {
+      action.apply(0, numberOfRows);
+      return;
+    }
+    int bandSize = Math.max(1, numberOfRows / (pool.getParallelism() * 4));
+    pool.invoke(new RowBandTask(action, 0, numberOfRows, bandSize));
+  }
+
+  protected void determineNextStates(byte[] next, int fromRow, int toRow) {
+    int index = fromRow * numberOfColumns;
+    for (int row = fromRow; row < toRow; row++) {
+      for (int column = 0; column < numberOfColumns; column++) {
+        next[index++] = nextState(row, column);
+      }
+    }
+  }
+
+  /**
+   * method for computing the next state of the cell at a given position from the current states
+   * in the grid. Only used by simulations that support double buffering
+   *
+   * @param row    row index of the cell
+   * @param column column index of the cell
+   * @return the byte code of the cell's next state
+   */
+  protected byte nextState(int row, int column) {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support double buffering");
+  }
+
+  /**
+   * method for creating the cell object of a given state at a given position. Only used by
+   * simulations that support double buffering, in order to rebuild their cells
+   *
+   * @param position `Coordinate` of the cell
+   * @param state    byte code of the cell's state
+   * @return the new cell
+   */
+  protected Cell createCell(Coordinate position, int state) {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support double buffering");
   }
 
-  protected void determineNewCellStates() {
-    for (Cell cell : grid.getCellMap().values()) {
-      cell.determineNextState(grid);
+  protected void determineNewCellStates(int fromRow, int toRow) {
+    Cell[] cells = grid.cells;
+    for (int i = fromRow * numberOfColumns; i < toRow * numberOfColumns; i++) {
+      Cell cell = cells[i];
+      if (cell != null) {
+        cell.determineNextState(grid);
+      }
     }
   }
 
-  protected void updateCellStates() {
-    for (Cell cell : grid.getCellMap().values()) {
-      cell.updateState();
+  protected void updateCellStates(int fromRow, int toRow) {
+    Cell[] cells = grid.cells;
+    int[] changes = new int[grid.getStateValues().length];
+    for (int i = fromRow * numberOfColumns; i < toRow * numberOfColumns; i++) {
+      Cell cell = cells[i];
+      if (cell != null) {
+        cell.updateState();
+        grid.recordState(cell, changes);
+      }
     }
+    grid.addPopulationChanges(changes);
   }
 
 }
@@ -1,10 +1,12 @@
 package Model;
 
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Extension of `Simulation` class that manages the model resources for the Spreading Fire
- * simulation and facilitates the initialization and updating of the simulation.
+ * simulation and facilitates the initialization and updating of the simulation. Runs created with
+ * the same seed produce the same burn pattern, including when stepped in parallel.
  *
  * @author Matthew Giglio
  */
@@ -20,24 +22,78 @@ public class SpreadingFire extends Simulation {
    */
   public SpreadingFire(int numberOfRows, int numberOfColumns, Map<Coordinate, Integer> setup,
       double probCatch) {
+    this(numberOfRows, numberOfColumns, setup, probCatch, new Random().nextLong());
+  }
+
+  /**
+   * @param numberOfRows    number of rows in the grid
+   * @param numberOfColumns number of columns in the grid
+   * @param setup           map for setting up the initial states of the cells in the grid
+   * @param probCatch       probability that a tree catches on fire if its neighbor is burning
+   * @param seed            seed from which every random draw of the run is derived
+   */
+  public SpreadingFire(int numberOfRows, int numberOfColumns, Map<Coordinate, Integer> setup,
+      double probCatch, long seed) {
     super(numberOfRows, numberOfColumns, setup);
     this.probCatch = probCatch;
+    ((SpreadingFireGrid) grid).setSeed(seed);
     initializeGridCells();
   }
 
   protected void createGrid() {
-    grid = new SpreadingFireGrid(numberOfColumns, numberOfRows);
+    grid = new SpreadingFireGrid(numberOfRows, numberOfColumns, 0);
+  }
+
+  /**
+   * getter method for the seed the run's random draws are derived from, so that a run can be
+   * reproduced
+   *
+   * @return the seed of the simulation
+   */
+  public long getSeed() {
+    return ((SpreadingFireGrid) grid).getSeed();
+  }
+
+  @Override
+  public void setStepCount(long steps) {
+    super.setStepCount(steps);
+    ((SpreadingFireGrid) grid).setStep(steps);
+  }
+
+  @Override
+  protected void updateGrid() {
+    super.updateGrid();
+    ((SpreadingFireGrid) grid).advanceStep();
   }
 
   protected void initializeGridCells() {
     for (Coordinate c : setup.keySet()) {
-      Enum state = null;
-      switch (setup.get(c)) {
-        case 0 -> state = States.SpreadingFire.TREE;
-        case 1 -> state = States.SpreadingFire.BURNING;
-        case 2 -> state = States.SpreadingFire.EMPTY;
-      }
-      grid.getCellMap().put(c, new SpreadingFireCell(c, state, probCatch));
+      grid.setCell(c, createCell(c, setup.get(c)));
     }
   }
+
+  @Override
+  protected Cell createCell(Coordinate position, int state) {
+    return new SpreadingFireCell(position, (byte) state, probCatch);
+  }
+
+  @Override
+  public boolean supportsDoubleBuffering() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsParallelStepping() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsIncrementalStepping() {
+    return true;
+  }
+
+  @Override
+  protected byte nextState(int row, int column) {
+    return SpreadingFireCell.nextState(grid, row, column, probCatch);
+  }
 }
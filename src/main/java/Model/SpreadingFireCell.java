@@ -3,49 +3,72 @@ package Model;
 
 /**
  * Class that updates the state of a cell in a Spreading Fire model given the probability it burns
- * provided its neighbor is on fire
+ * provided its neighbor is on fire. Random draws come from the `SpreadingFireGrid` so that they only
+ * depend on the grid's seed, the step and the position of the cell
  *
  * @author Matthew Giglio
  */
 public class SpreadingFireCell extends Cell {
 
+  private static final byte TREE = (byte) States.SpreadingFire.TREE.ordinal();
+  private static final byte BURNING = (byte) States.SpreadingFire.BURNING.ordinal();
+  private static final byte EMPTY = (byte) States.SpreadingFire.EMPTY.ordinal();
+  private static final Enum[] STATE_VALUES = States.SpreadingFire.values();
+
   private double probCatch;
 
   /**
    * @param position     Coordinate position of the cell in the grid
-   * @param initialState initial state of the cell
+   * @param initialState byte code of the initial state of the cell
    * @param probCatch    probability cell catches on fire if its neighbor is burning
    */
-  public SpreadingFireCell(Coordinate position, Enum initialState, double probCatch) {
+  public SpreadingFireCell(Coordinate position, byte initialState, double probCatch) {
     super(position, initialState);
     this.probCatch = probCatch;
 
   }
 
+  @Override
+  protected Enum[] getStateValues() {
+    return STATE_VALUES;
+  }
+
   protected void updateState() {
     currentState = futureState;
   }
 
   protected void determineNextState(Grid grid) {
-    if (currentState == States.SpreadingFire.EMPTY ||
-        currentState == States.SpreadingFire.BURNING) {
-      futureState = States.SpreadingFire.EMPTY;
-      return;
+    futureState = nextState(grid, position.getRow(), position.getColumn(), probCatch);
+  }
+
+  /**
+   * method for applying the rules of Spreading Fire to the cell at a given position, reading only
+   * the current states stored in the grid
+   *
+   * @param grid      the `Grid` holding the current states
+   * @param row       row index of the cell
+   * @param column    column index of the cell
+   * @param probCatch probability the cell catches on fire if its neighbor is burning
+   * @return the byte code of the cell's next state
+   */
+  protected static byte nextState(Grid grid, int row, int column, double probCatch) {
+    if (grid.getState(row, column) != TREE) {
+      return EMPTY;
     }
-    if (canCatchFire(grid) && Math.random() <= probCatch) {
-      futureState = States.SpreadingFire.BURNING;
+    if (canCatchFire(grid, row, column)
+        && ((SpreadingFireGrid) grid).nextRandom(row, column) <= probCatch) {
+      return BURNING;
     } else {
-      futureState = States.SpreadingFire.TREE;
+      return TREE;
     }
   }
 
-  private boolean canCatchFire(Grid grid) {
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        if (grid.getCellMap().get(neighbor).getCurrentState() == States.SpreadingFire.BURNING) {
-          return true;
-        }
+  private static boolean canCatchFire(Grid grid, int row, int column) {
+    Neighborhood neighborhood = grid.getNeighborhood();
+    int index = grid.getIndex(row, column);
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      if (grid.getState(neighborhood.getNeighbor(k)) == BURNING) {
+        return true;
       }
     }
     return false;
@@ -1,13 +1,45 @@
 package Model;
 
 /**
- * Class for creating the `Grid` implementation for a Spreading Fire model
+ * Class for creating the `Grid` implementation for a Spreading Fire model. The grid also acts as the
+ * source of randomness for its cells: every draw is derived from the grid's seed, the number of
+ * steps taken and the position of the cell, so that a seed always yields the same burn pattern
+ * however the grid is stepped
  *
  * @author Matthew Giglio
  */
 public class SpreadingFireGrid extends Grid {
 
-  protected SpreadingFireGrid(int numberOfRows, int numberOfColumns) {
-    super(numberOfRows, numberOfColumns);
+  private long seed;
+  private long step;
+
+  protected SpreadingFireGrid(int numberOfRows, int numberOfColumns, long seed) {
+    super(numberOfRows, numberOfColumns, States.SpreadingFire.values());
+    this.seed = seed;
+  }
+
+  /**
+   * getter method for the seed all random draws of the grid are derived from
+   *
+   * @return the seed of the grid
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  protected void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  protected double nextRandom(int row, int column) {
+    return CounterRandom.uniform(seed, step, getIndex(row, column));
+  }
+
+  protected void advanceStep() {
+    step++;
+  }
+
+  protected void setStep(long step) {
+    this.step = step;
   }
 }
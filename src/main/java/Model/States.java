@@ -1,5 +1,9 @@
 package Model;
 
+/**
+ * The states of every model. The byte code of a state, stored in the grids and written to the XML
+ * files, is its ordinal in its enum
+ */
 public class States {
 
   public enum SpreadingFire {
@@ -8,12 +12,10 @@ public class States {
     EMPTY;
 
     public int stateToInt(Enum state) {
-      if (state.equals(TREE)) return 0;
-      else if (state.equals(BURNING)) return 1;
-      else if (state.equals(EMPTY)) return 2;
+      if (state instanceof SpreadingFire) return state.ordinal();
       else throw new IllegalArgumentException("Not a valid state");
-      }
     }
+  }
 
 
   public enum Percolation {
@@ -21,9 +23,7 @@ public class States {
     PERCOLATED, //BLUE
     BLOCKED; //BLACK
     public int stateToInt(Enum state) {
-      if (state.equals(OPEN)) return 0;
-      else if (state.equals(PERCOLATED)) return 1;
-      else if (state.equals(BLOCKED)) return 2;
+      if (state instanceof Percolation) return state.ordinal();
       else throw new IllegalArgumentException("Not a valid state");
     }
   }
@@ -32,8 +32,7 @@ public class States {
     DEAD, //
     ALIVE;
     public int stateToInt(Enum state) {
-      if (state.equals(DEAD)) return 0;
-      else if (state.equals(ALIVE)) return 1;
+      if (state instanceof GameOfLife) return state.ordinal();
       else throw new IllegalArgumentException("Not a valid state");
     }
   }
@@ -43,9 +42,7 @@ public class States {
     REP,
     DEM;
     public int stateToInt(Enum state) {
-      if (state.equals(EMPTY)) return 0;
-      else if (state.equals(REP)) return 1;
-      else if (state.equals(DEM)) return 2;
+      if (state instanceof Segregation) return state.ordinal();
       else throw new IllegalArgumentException("Not a valid state");
     }
   }
@@ -55,9 +52,7 @@ public class States {
     FISH,
     SHARK;
     public int stateToInt(Enum state) {
-      if (state.equals(EMPTY)) return 0;
-      else if (state.equals(FISH)) return 1;
-      else if (state.equals(SHARK)) return 2;
+      if (state instanceof WaTor) return state.ordinal();
       else throw new IllegalArgumentException("Not a valid state");
     }
   }
@@ -35,13 +35,8 @@ public class WaTor extends Simulation {
   protected void initializeGridCells() {
     if (setup == null) return;
     for (Coordinate c : setup.keySet()) {
-      Enum state = null;
-      switch (setup.get(c)) {
-        case 0 -> state = States.WaTor.EMPTY;
-        case 1 -> state = States.WaTor.FISH;
-        case 2 -> state = States.WaTor.SHARK;
-      }
-      grid.getCellMap().put(c, new WaTorCell(c, state, grid, fishChronon, sharkChronon));
+      grid.setCell(c, new WaTorCell(c, setup.get(c).byteValue(), grid, fishChronon,
+          sharkChronon));
     }
   }
 
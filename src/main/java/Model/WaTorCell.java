@@ -1,7 +1,5 @@
 package Model;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -15,48 +13,60 @@ public class WaTorCell extends Cell {
   private WaTorGrid grid;
   private int fishChronon;
   private int sharkChronon;
-  private List<Coordinate> empty;
-  private List<Coordinate> fish;
+  private int[] empty;
+  private int emptyCount;
+  private int[] fish;
+  private int fishCount;
   private int turnsElapsed;
   private Random random;
   private static int DEATH;
+  private static final byte EMPTY = (byte) States.WaTor.EMPTY.ordinal();
+  private static final byte FISH = (byte) States.WaTor.FISH.ordinal();
+  private static final byte SHARK = (byte) States.WaTor.SHARK.ordinal();
+  private static final Enum[] STATE_VALUES = States.WaTor.values();
 
   /**
    * @param c            position of the cell in the grid
-   * @param state        initial state for the cell
+   * @param state        byte code of the initial state for the cell
    * @param grid         `Grid` object in which the cell exists
    * @param fishChronon  number of turns before fish can reproduce
    * @param sharkChronon number of turns before shark can reproduce
    */
-  public WaTorCell(Coordinate c, Enum state, Grid grid, int fishChronon, int sharkChronon) {
+  public WaTorCell(Coordinate c, byte state, Grid grid, int fishChronon, int sharkChronon) {
     super(c, state);
     this.grid = (WaTorGrid) grid;
     this.fishChronon = fishChronon;
     this.sharkChronon = sharkChronon;
-    empty = new ArrayList<>();
-    fish = new ArrayList<>();
+    int capacity = grid.getNeighborhood().getMaxNeighborCount();
+    empty = new int[capacity];
+    fish = new int[capacity];
     random = new Random();
     DEATH = sharkChronon + 3;
   }
 
+  @Override
+  protected Enum[] getStateValues() {
+    return STATE_VALUES;
+  }
+
   @Override
   protected void updateState() {
-    if (currentState == States.WaTor.FISH) {
+    if (currentState == FISH) {
       updateFish();
-    } else if (currentState == States.WaTor.SHARK) {
+    } else if (currentState == SHARK) {
       updateShark();
     }
   }
 
   private void updateShark() {
-    if (!fish.isEmpty()) {
+    if (fishCount > 0) {
       eatFish();
     }
     if (hasDied()) {
-      currentState = States.WaTor.EMPTY;
+      currentState = EMPTY;
       clearTurnsElapsed();
-    } else if (canReproduce(States.WaTor.SHARK)) {
-      reproduce(States.WaTor.SHARK);
+    } else if (canReproduce(SHARK)) {
+      reproduce(SHARK);
     } else {
       moveToNeighbor();
       turnsElapsed++;
@@ -64,8 +74,8 @@ public class WaTorCell extends Cell {
   }
 
   private void updateFish() {
-    if (canReproduce(States.WaTor.FISH)) {
-      reproduce(States.WaTor.FISH);
+    if (canReproduce(FISH)) {
+      reproduce(FISH);
     } else {
       moveToNeighbor();
       turnsElapsed++;
@@ -79,43 +89,56 @@ public class WaTorCell extends Cell {
   //let's treat reproduction like making one of the neighbors an offspring as opposed to
   //directly leaving something behind
   //let's also make health and turns elapsed equivalent
-  private void reproduce(States.WaTor state) {
-    Coordinate offspring = empty.remove(random.nextInt(empty.size()));
+  private void reproduce(byte state) {
+    Coordinate offspring = toCoordinate(removeAt(empty, emptyCount, random.nextInt(emptyCount)));
+    emptyCount--;
     updateNeighborState(offspring, state);
     clearTurnsElapsed();
   }
 
-  private boolean canReproduce(States.WaTor state) {
-    switch (state) {
-      case FISH:
-        return turnsElapsed >= fishChronon && !empty.isEmpty();
-      case SHARK:
-        return turnsElapsed >= sharkChronon && !empty.isEmpty();
+  private boolean canReproduce(byte state) {
+    if (state == FISH) {
+      return turnsElapsed >= fishChronon && emptyCount > 0;
+    } else if (state == SHARK) {
+      return turnsElapsed >= sharkChronon && emptyCount > 0;
     }
     return false;
   }
 
   private void eatFish() {
-    Coordinate fishToBeEaten = fish.remove(random.nextInt(fish.size()));
-    updateNeighborState(fishToBeEaten, States.WaTor.EMPTY);
+    Coordinate fishToBeEaten = toCoordinate(removeAt(fish, fishCount, random.nextInt(fishCount)));
+    fishCount--;
+    updateNeighborState(fishToBeEaten, EMPTY);
     clearTurnsElapsed();
   }
 
-  private void updateNeighborState(Coordinate c, Enum state) {
+  private void updateNeighborState(Coordinate c, byte state) {
     WaTorCell newNeighbor = new WaTorCell(c, state, grid, fishChronon, sharkChronon);
-    grid.getCellMap().put(c, newNeighbor);
+    grid.setCell(c, newNeighbor);
     newNeighbor.updateNewNeighbors();
   }
 
   private void moveToNeighbor() {
-    if (!empty.isEmpty()) {
-      Coordinate emptySpot = empty.remove(random.nextInt(empty.size()));
+    if (emptyCount > 0) {
+      Coordinate emptySpot = toCoordinate(removeAt(empty, emptyCount, random.nextInt(emptyCount)));
+      emptyCount--;
       grid.makeSwap(position, emptySpot);
     }
   }
 
+  // removes the neighbor at position k of a list, keeping the others in order
+  private int removeAt(int[] list, int size, int k) {
+    int index = list[k];
+    System.arraycopy(list, k + 1, list, k, size - k - 1);
+    return index;
+  }
+
+  private Coordinate toCoordinate(int index) {
+    return grid.getCoordinate(index);
+  }
+
   private boolean hasDied() {
-    return currentState == States.WaTor.SHARK && turnsElapsed == DEATH;
+    return currentState == SHARK && turnsElapsed == DEATH;
   }
 
 
@@ -125,30 +148,33 @@ public class WaTorCell extends Cell {
 
   private void determineNeighbors(Grid grid) {
     clearLists();
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        if (grid.getCellMap().get(neighbor).getCurrentState() == States.WaTor.EMPTY) {
-          empty.add(neighbor);
-        } else if (grid.getCellMap().get(neighbor).getCurrentState() == States.WaTor.FISH) {
-          fish.add(neighbor);
-        }
+    Neighborhood neighborhood = grid.getNeighborhood();
+    if (empty.length < neighborhood.getMaxNeighborCount()) {
+      empty = new int[neighborhood.getMaxNeighborCount()];
+      fish = new int[neighborhood.getMaxNeighborCount()];
+    }
+    int index = grid.getIndex(position);
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      int neighbor = neighborhood.getNeighbor(k);
+      byte state = grid.getState(neighbor);
+      if (state == EMPTY) {
+        empty[emptyCount++] = neighbor;
+      } else if (state == FISH) {
+        fish[fishCount++] = neighbor;
       }
     }
   }
 
   private void updateNewNeighbors() {
-    for (int i = 0; i < rowDelta.length; i++) {
-      Coordinate neighbor = position.checkNeighbors(rowDelta[i], colDelta[i]);
-      if (grid.isInBounds(neighbor)) {
-        WaTorCell cell = (WaTorCell) grid.getCellMap().get(position);
-        cell.determineNeighbors(grid);
-      }
+    int index = grid.getIndex(position);
+    if (grid.getNeighborhood().getNeighborCount(index) > 0) {
+      WaTorCell cell = (WaTorCell) grid.getCell(position);
+      cell.determineNeighbors(grid);
     }
   }
 
   private void clearLists() {
-    empty.clear();
-    fish.clear();
+    emptyCount = 0;
+    fishCount = 0;
   }
 }
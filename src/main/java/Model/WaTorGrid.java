@@ -14,16 +14,11 @@ public class WaTorGrid extends Grid {
    * @param numberOfColumns number of columns in the grid
    */
   public WaTorGrid(int numberOfRows, int numberOfColumns) {
-    super(numberOfRows, numberOfColumns);
+    super(numberOfRows, numberOfColumns, States.WaTor.values());
   }
 
   protected void makeSwap(Coordinate c, Coordinate newHome) {
-    Cell current = cellMap.get(c);
-    Cell swap = cellMap.get(newHome);
-    current.setPosition(newHome);
-    swap.setPosition(c);
-    cellMap.put(newHome, current);
-    cellMap.put(c, swap);
+    swapCells(c, newHome);
   }
 
 
@@ -0,0 +1,71 @@
+package cellsociety;
+
+import Controller.GridEncoder;
+import Controller.XMLParser;
+import Model.Grid;
+import Model.Simulation;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starting class for running a simulation without the GUI. It loads a model from an XML file with
+ * the same `XMLParser` as `Main`, advances it a number of steps and prints metrics about the run.
+ * Nothing in this class or in the Model and Controller packages touches JavaFX, so started from
+ * the class path, where the module's JavaFX requirements do not apply, it runs without JavaFX:
+ * <pre>
+ *   java -cp target/classes cellsociety.HeadlessMain doc/Percolation.xml 100
+ * </pre>
+ * Binary snapshots, recognized by their `.snapshot` extension, can be given instead of the XML
+ * file and as the output, so that long runs can be checkpointed and resumed.
+ */
+public class HeadlessMain {
+
+  /**
+   * @param args the XML file to load, the number of steps, and optionally the number of threads
+   *             and a file to write the final grid to, as a snapshot or in the format of the
+   *             `grid` tag
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println(
+          "usage: HeadlessMain <file.xml|file.snapshot> <steps> [threads] [output]");
+      System.exit(1);
+    }
+    long start = System.nanoTime();
+    XMLParser parser = new XMLParser();
+    HashMap<String, String> data = args[0].endsWith(XMLParser.SNAPSHOT_EXTENSION)
+        ? parser.parseSnapshot(args[0]) : parser.parseXML(args[0]);
+    Simulation simulation = parser.createSimulation(data);
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+    if (simulation.supportsDoubleBuffering()) {
+      simulation.setDoubleBuffered(true);
+    }
+    if (threads > 1 && simulation.supportsParallelStepping()) {
+      simulation.setParallelism(threads);
+    }
+    long loaded = System.nanoTime();
+    long steps = Long.parseLong(args[1]);
+    simulation.step(steps);
+    long finished = System.nanoTime();
+
+    Grid grid = simulation.getGrid();
+    System.out.println("type: " + data.getOrDefault("type", "SpreadingFire"));
+    System.out.println("size: " + grid.getNumberOfRows() + "x" + grid.getNumberOfColumns());
+    System.out.println("steps: " + steps);
+    System.out.printf("load: %.1f ms%n", (loaded - start) / 1e6);
+    System.out.printf("run: %.1f ms%n", (finished - loaded) / 1e6);
+    for (Map.Entry<Enum, Integer> population : simulation.getPopulations().entrySet()) {
+      System.out.println(population.getKey() + ": " + population.getValue());
+    }
+    if (args.length > 3 && args[3].endsWith(XMLParser.SNAPSHOT_EXTENSION)) {
+      parser.saveSnapshot(args[3]);
+    } else if (args.length > 3) {
+      try (Writer out = Files.newBufferedWriter(Path.of(args[3]))) {
+        GridEncoder.write(grid, GridEncoder.PLAIN, out);
+      }
+    }
+  }
+}
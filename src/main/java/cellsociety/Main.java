@@ -4,11 +4,10 @@ import Controller.XMLParser;
 import Model.Simulation;
 import visualizer.SimulationVisualizer;
 import visualizer.ResettableStage;
+import java.io.IOException;
 import java.util.HashMap;
 import javafx.application.Application;
 import javafx.stage.Stage;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 
 /**
  * This is the starting class for the application. It initializes the simulation and the GUI when
@@ -89,11 +88,9 @@ public class Main extends Application {
   }
 
   /**
-   * @throws ParserConfigurationException indicates a serious configuration error
-   * @throws TransformerException         specifies an exceptional condition that occurred during
-   *                                      the transformation process.
+   * @throws IOException if the exported file cannot be written
    */
-  public void export() throws ParserConfigurationException, TransformerException {
+  public void export() throws IOException {
     parser.saveGrid();
   }
 
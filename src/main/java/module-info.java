@@ -8,4 +8,6 @@ module cellsociety_app {
 
   // allow other classes to access listed packages in your project
     exports cellsociety;
+    exports Model;
+    exports Controller;
 }
@@ -1,9 +1,11 @@
 package visualizer;
 
+import Controller.SimulationRunner;
 import java.util.ResourceBundle;
 import javafx.animation.Timeline;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.HBox;
 import javafx.scene.text.Text;
@@ -20,17 +22,25 @@ import javafx.scene.text.Text;
  */
 public class AnimationControlPanel extends ControlPanel {
 
+  private static final long[] STEPS_PER_FRAME = {1, 10, 100, 1000,
+      SimulationVisualizer.TURBO_STEPS_PER_FRAME};
+
   private HBox animationControls;
+  private int stepsPerFrameChoice;
   private boolean animationEnabled = false;
   private final Timeline myAnimation;
+  private final SimulationRunner myRunner;
 
   /**
    * @param resources the resourceBundle used to display texts on the UI.
    * @param animation the main animation, needed here to implement play/pause/step functionalities.
+   * @param runner    the runner stepping the simulation, stopped along with the animation.
    */
-  public AnimationControlPanel(ResourceBundle resources, Timeline animation) {
+  public AnimationControlPanel(ResourceBundle resources, Timeline animation,
+      SimulationRunner runner) {
     super(resources);
     this.myAnimation = animation;
+    this.myRunner = runner;
   }
 
   /**
@@ -68,8 +78,14 @@ public class AnimationControlPanel extends ControlPanel {
     text.setText(getResourceBundle().getString("animationSpeedPrompt"));
     text.setId("animationSpeedPrompt");
 
+    ChoiceBox<String> stepsPerFrame = setUpStepsPerFrameChoice(mySimulationVisualizer);
+    Text stepsText = new Text();
+    stepsText.setText(getResourceBundle().getString("stepsPerFramePrompt"));
+    stepsText.setId("stepsPerFramePrompt");
+
     animationControls = new HBox();
-    animationControls.getChildren().addAll(pauseButton, playButton, stepButton, text, slider);
+    animationControls.getChildren()
+        .addAll(pauseButton, playButton, stepButton, text, slider, stepsText, stepsPerFrame);
     animationControls.setAlignment(Pos.CENTER);
   }
 
@@ -86,6 +102,20 @@ public class AnimationControlPanel extends ControlPanel {
     return slider;
   }
 
+  private ChoiceBox<String> setUpStepsPerFrameChoice(SimulationVisualizer mySimulationVisualizer) {
+    ChoiceBox<String> choiceBox = new ChoiceBox<>();
+    for (long steps : STEPS_PER_FRAME) {
+      choiceBox.getItems().add(steps == SimulationVisualizer.TURBO_STEPS_PER_FRAME
+          ? getResourceBundle().getString("turboCommand") : String.valueOf(steps));
+    }
+    choiceBox.getSelectionModel().select(stepsPerFrameChoice);
+    choiceBox.setOnAction(e -> {
+      stepsPerFrameChoice = choiceBox.getSelectionModel().getSelectedIndex();
+      mySimulationVisualizer.setStepsPerFrame(STEPS_PER_FRAME[stepsPerFrameChoice]);
+    });
+    return choiceBox;
+  }
+
   private void setAnimationSpeed(Number factor) {
     myAnimation.setRate(factor.doubleValue());
   }
@@ -96,10 +126,12 @@ public class AnimationControlPanel extends ControlPanel {
   }
 
   /**
-   * pauses the simulation animation.
+   * pauses the simulation animation, and waits for the step being computed to end so the
+   * simulation can safely be read.
    */
   public void pause() {
     myAnimation.pause();
+    myRunner.pause();
   }
 
   /**
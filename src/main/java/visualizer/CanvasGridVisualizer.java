@@ -0,0 +1,257 @@
+package visualizer;
+
+import Model.Coordinate;
+import Model.Grid;
+import java.util.Arrays;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Shape;
+
+/**
+ * Extension of grid class which draws a rectangular grid onto a single <code>Canvas</code> instead
+ * of making a <code>Shape</code> node per cell. The canvas is kept between steps and only the cells
+ * whose state changed since the last frame are painted again, so large grids can be animated
+ * without rebuilding the scene graph every frame.
+ * <p>
+ * Scrolling over the grid zooms in and out around the mouse and dragging it moves the view, and
+ * only the cells in view are drawn. When cells are smaller than a pixel, every pixel is instead
+ * given the color of the state held by most of the cells it covers, so the cost of a frame is
+ * bounded by the cells in view rather than by the number of shapes drawn.
+ * <p>
+ * Along with JavaFX, this class depends on the GridVisualizer class, as well as
+ * SimulationVisualizer. SimulationVisualizer in turn depends on this class.
+ */
+public class CanvasGridVisualizer extends GridVisualizer {
+
+  // grid lines are left out below this cell size, where they would hide the cells
+  private static final double MIN_LINED_CELL_SIZE = 4;
+  private static final double ZOOM_FACTOR = 1.25;
+  private static final int BACKGROUND_ARGB = 0xFFFFFFFF;
+
+  private final Canvas canvas;
+  private final Group gridRoot;
+  private final byte[] shownStates;
+  private final int[] stateArgb;
+  private int[] pixels;
+  private double zoom = 1;
+  private double firstRow;
+  private double firstColumn;
+  private double cellWidth;
+  private double cellHeight;
+  private double dragX;
+  private double dragY;
+  private double dragRow;
+  private double dragColumn;
+
+  /**
+   * @param width                width of the space allocated for the grid on the screen.
+   * @param height               height of the space allocated for the grid on the screen.
+   * @param numberOfRows         number of rows in the grid
+   * @param numberOfColumns      number of columns in the grid
+   * @param grid                 the Grid object taken from the Simulation object, used to get the
+   *                             states of the cells during simulation.
+   * @param gridRule             initial rule of whether gridlines should be shown.
+   * @param cellStateDisplayRule initial rule of whether cell states should be displayed.
+   */
+  public CanvasGridVisualizer(int width, int height, int numberOfRows, int numberOfColumns,
+      Grid grid, boolean gridRule, boolean cellStateDisplayRule) {
+    super(width, height, numberOfRows, numberOfColumns, grid, gridRule, cellStateDisplayRule);
+    canvas = new Canvas(width, height);
+    gridRoot = new Group(canvas);
+    shownStates = new byte[numberOfRows * numberOfColumns];
+    stateArgb = new int[grid.getStateValues().length];
+    for (int i = 0; i < stateArgb.length; i++) {
+      stateArgb[i] = toArgb(getStateColor((byte) i));
+    }
+    calculateCellSize();
+    canvas.setOnScroll(
+        e -> zoomAt(e.getDeltaY() > 0 ? ZOOM_FACTOR : 1 / ZOOM_FACTOR, e.getX(), e.getY()));
+    canvas.setOnMousePressed(e -> {
+      dragX = e.getX();
+      dragY = e.getY();
+      dragRow = firstRow;
+      dragColumn = firstColumn;
+    });
+    canvas.setOnMouseDragged(e -> moveView(dragRow - (e.getY() - dragY) / cellHeight,
+        dragColumn - (e.getX() - dragX) / cellWidth));
+  }
+
+  @Override
+  protected void calculateCellSize() {
+    cellHeight = getHeight() / Double.valueOf(getNumRows()) * zoom;
+    cellWidth = getWidth() / Double.valueOf(getNumColumns()) * zoom;
+  }
+
+  @Override
+  public Group makeRoot() {
+    arrangeCells();
+    return gridRoot;
+  }
+
+  @Override
+  public Group updateRoot() {
+    if (isAggregated()) {
+      drawPixels();
+      return gridRoot;
+    }
+    int lastRow = lastVisible(firstRow, cellHeight, getHeight(), getNumRows());
+    int lastColumn = lastVisible(firstColumn, cellWidth, getWidth(), getNumColumns());
+    for (int i = (int) firstRow; i < lastRow; i++) {
+      for (int j = (int) firstColumn; j < lastColumn; j++) {
+        int index = i * getNumColumns() + j;
+        if (getCellState(index) != shownStates[index]) {
+          createCell((j - firstColumn) * cellWidth, (i - firstRow) * cellHeight,
+              getGrid().getCoordinate(index));
+        }
+      }
+    }
+    return gridRoot;
+  }
+
+  @Override
+  protected Group arrangeCells() {
+    if (isAggregated()) {
+      drawPixels();
+      return gridRoot;
+    }
+    GraphicsContext graphics = canvas.getGraphicsContext2D();
+    graphics.setFill(hasGridLines() ? Color.BLACK : Color.WHITE);
+    graphics.fillRect(0, 0, getWidth(), getHeight());
+    int lastRow = lastVisible(firstRow, cellHeight, getHeight(), getNumRows());
+    int lastColumn = lastVisible(firstColumn, cellWidth, getWidth(), getNumColumns());
+    for (int i = (int) firstRow; i < lastRow; i++) {
+      for (int j = (int) firstColumn; j < lastColumn; j++) {
+        createCell((j - firstColumn) * cellWidth, (i - firstRow) * cellHeight,
+            getGrid().getCoordinate(i, j));
+      }
+    }
+    return gridRoot;
+  }
+
+  // with cells smaller than a pixel, every pixel shows the state held by most of the cells it
+  // covers, and the whole view is written to the canvas at once
+  private void drawPixels() {
+    int width = getWidth();
+    int height = getHeight();
+    if (pixels == null) {
+      pixels = new int[width * height];
+    }
+    int[] firstColumns = new int[width];
+    int[] lastColumns = new int[width];
+    coverCells(firstColumn, cellWidth, getNumColumns(), firstColumns, lastColumns);
+    int[] firstRows = new int[height];
+    int[] lastRows = new int[height];
+    coverCells(firstRow, cellHeight, getNumRows(), firstRows, lastRows);
+    int[] counts = new int[stateArgb.length];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        Arrays.fill(counts, 0);
+        boolean covered = false;
+        for (int i = firstRows[y]; i < lastRows[y]; i++) {
+          for (int j = firstColumns[x]; j < lastColumns[x]; j++) {
+            counts[getCellState(i * getNumColumns() + j)]++;
+            covered = true;
+          }
+        }
+        int majority = 0;
+        for (int state = 1; state < counts.length; state++) {
+          if (counts[state] > counts[majority]) {
+            majority = state;
+          }
+        }
+        pixels[y * width + x] = covered ? stateArgb[majority] : BACKGROUND_ARGB;
+      }
+    }
+    canvas.getGraphicsContext2D().getPixelWriter()
+        .setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+  }
+
+  // range of cells covered by every pixel along one side of the view; a pixel smaller than a cell
+  // covers the cell it falls in
+  private static void coverCells(double firstCell, double cellSize, int cellCount, int[] starts,
+      int[] ends) {
+    for (int p = 0; p < starts.length; p++) {
+      starts[p] = Math.min((int) (firstCell + p / cellSize), cellCount);
+      ends[p] = Math.min(Math.max((int) (firstCell + (p + 1) / cellSize), starts[p] + 1),
+          cellCount);
+    }
+  }
+
+  private static int lastVisible(double firstCell, double cellSize, int viewSize, int cellCount) {
+    return Math.min((int) Math.ceil(firstCell + viewSize / cellSize), cellCount);
+  }
+
+  private void zoomAt(double factor, double x, double y) {
+    double row = firstRow + y / cellHeight;
+    double column = firstColumn + x / cellWidth;
+    double maxZoom = Math.max(1, Math.min(getNumRows(), getNumColumns()));
+    zoom = Math.max(1, Math.min(zoom * factor, maxZoom));
+    calculateCellSize();
+    moveView(row - y / cellHeight, column - x / cellWidth);
+  }
+
+  // keeps the view inside the grid and draws it again
+  private void moveView(double row, double column) {
+    firstRow = Math.max(0, Math.min(row, getNumRows() - getHeight() / cellHeight));
+    firstColumn = Math.max(0, Math.min(column, getNumColumns() - getWidth() / cellWidth));
+    arrangeCells();
+  }
+
+  private boolean isAggregated() {
+    return Math.min(cellWidth, cellHeight) < 1;
+  }
+
+  private static int toArgb(Color color) {
+    return (int) Math.round(color.getOpacity() * 255) << 24
+        | (int) Math.round(color.getRed() * 255) << 16
+        | (int) Math.round(color.getGreen() * 255) << 8
+        | (int) Math.round(color.getBlue() * 255);
+  }
+
+  @Override
+  protected double[] getTextCoordinates(double xPos, double yPos, int j) {
+    double[] textCoordinate = new double[2];
+    textCoordinate[0] = xPos + cellWidth / 4;
+    textCoordinate[1] = yPos + cellHeight / 2;
+    return textCoordinate;
+  }
+
+  /**
+   * Paints the cell onto the canvas in the color of its current state. Cells are snapped to whole
+   * pixels so that repainting one never blends into its neighbours, and with grid lines on the top
+   * and left pixel of the cell is left showing the black background.
+   *
+   * @return null, as the cell is drawn rather than made into a node.
+   */
+  @Override
+  protected Shape createCell(double xPos, double yPos, Coordinate c) {
+    int index = getGrid().getIndex(c);
+    byte state = getCellState(index);
+    double left = Math.floor(xPos);
+    double top = Math.floor(yPos);
+    double right = Math.max(Math.floor(xPos + cellWidth), left + 1);
+    double bottom = Math.max(Math.floor(yPos + cellHeight), top + 1);
+    if (hasGridLines()) {
+      left++;
+      top++;
+    }
+    GraphicsContext graphics = canvas.getGraphicsContext2D();
+    graphics.setFill(getStateColor(state));
+    graphics.fillRect(left, top, right - left, bottom - top);
+    if (getCellStateDisplayRule()) {
+      double[] textCoordinate = getTextCoordinates(xPos, yPos, c.getColumn());
+      graphics.setFill(Color.BLACK);
+      graphics.fillText(getCellStateString(c), textCoordinate[0], textCoordinate[1],
+          right - textCoordinate[0]);
+    }
+    shownStates[index] = state;
+    return null;
+  }
+
+  private boolean hasGridLines() {
+    return getGridRule() && Math.min(cellWidth, cellHeight) >= MIN_LINED_CELL_SIZE;
+  }
+}
@@ -2,7 +2,9 @@ package visualizer;
 
 import Model.Coordinate;
 import Model.Grid;
+import Model.GridSnapshot;
 import javafx.scene.Group;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.Shape;
 import javafx.scene.text.Text;
 
@@ -26,8 +28,14 @@ public abstract class GridVisualizer {
   private final int numColumns;
   private final ColorMap colorMap;
   private final Grid myGrid;
+  private final Color[] stateColors;
   private boolean gridLineRule;
   private boolean cellStateDisplayRule;
+  private Shape[] cellShapes;
+  private Text[] stateTags;
+  private byte[] shownStates;
+  private Group shownRoot;
+  private GridSnapshot frame;
 
   /**
    * @param width                width of the space allocated for the grid on the screen.
@@ -49,7 +57,11 @@ public abstract class GridVisualizer {
     this.myGrid = grid;
     this.gridLineRule = gridRule;
     this.cellStateDisplayRule = cellStateDisplayRule;
-
+    Enum[] stateValues = grid.getStateValues();
+    this.stateColors = new Color[stateValues.length];
+    for (int i = 0; i < stateValues.length; i++) {
+      stateColors[i] = colorMap.getStateMatch(stateValues[i].toString());
+    }
   }
 
 
@@ -69,6 +81,64 @@ public abstract class GridVisualizer {
    */
   public abstract Group makeRoot();
 
+  /**
+   * Brings the graphical grid up to date with the states of the cells after the simulation steps.
+   * The cell shapes kept by <code>addCell</code> when the group was last made are recolored in
+   * place, only for the cells whose state changed, and the same group is returned so the scene is
+   * left alone. Visualizers which keep no shapes get a new group from <code>makeRoot</code>.
+   *
+   * @return the <code>Group</code> to show for the grid.
+   */
+  public Group updateRoot() {
+    if (shownRoot == null || cellShapes == null) {
+      return makeRoot();
+    }
+    for (int index = 0; index < shownStates.length; index++) {
+      byte state = getCellState(index);
+      if (state != shownStates[index]) {
+        shownStates[index] = state;
+        cellShapes[index].setFill(getStateColor(state));
+        if (stateTags[index] != null) {
+          stateTags[index].setText(getCellStateString(myGrid.getCoordinate(index)));
+        }
+      }
+    }
+    return shownRoot;
+  }
+
+  /**
+   * Remembers the group made by <code>makeRoot</code>, which <code>updateRoot</code> hands back
+   * after recoloring its cells.
+   *
+   * @param gridRoot the group holding every cell of the grid.
+   * @return the same group.
+   */
+  protected Group keepRoot(Group gridRoot) {
+    shownRoot = gridRoot;
+    return gridRoot;
+  }
+
+  /**
+   * Adds the shape of a cell to the group and keeps it, so that later steps only change its color
+   * instead of making the shape again.
+   *
+   * @param cellGroup the group being arranged.
+   * @param c         the <code>Coordinate</code> of the cell.
+   * @param cell      the shape made for the cell by <code>createCell</code>.
+   */
+  protected void addCell(Group cellGroup, Coordinate c, Shape cell) {
+    int index = myGrid.getIndex(c);
+    if (cellShapes == null) {
+      cellShapes = new Shape[numRows * numColumns];
+      stateTags = new Text[numRows * numColumns];
+      shownStates = new byte[numRows * numColumns];
+    }
+    cellShapes[index] = cell;
+    stateTags[index] = null;
+    shownStates[index] = getCellState(index);
+    cellGroup.getChildren().add(cell);
+  }
+
   /**
    * Checks the state of cells in the simulation grid, and arranges the graphical cell Shapes into
    * the correct order with correct features(Color).
@@ -99,8 +169,36 @@ public abstract class GridVisualizer {
    */
   protected abstract double[] getTextCoordinates(double xPos, double yPos, int columnNumber);
 
+  /**
+   * @param state byte code of a state of the grid.
+   * @return the color the cells in that state are shown with.
+   */
+  protected Color getStateColor(byte state) {
+    return stateColors[state];
+  }
+
+  /**
+   * Sets the snapshot of the grid drawn by the next call to <code>makeRoot</code> or
+   * <code>updateRoot</code>, so that the grid can be drawn while the simulation keeps stepping.
+   * Until a snapshot is set, the states are read from the grid itself.
+   *
+   * @param frame the newest snapshot of the grid.
+   */
+  public void setFrame(GridSnapshot frame) {
+    this.frame = frame;
+  }
+
+  /**
+   * @param index linear index of the cell in the grid.
+   * @return byte code of the state the cell is drawn in.
+   */
+  protected byte getCellState(int index) {
+    return frame != null ? frame.getState(index) : myGrid.getState(index);
+  }
+
   protected String getCellStateString(Coordinate c) {
-    return getGrid().getCellMap().get(c).toString();
+    return myGrid.getStateValues()[getCellState(myGrid.getIndex(c))]
+        .toString();
   }
 
   /**
@@ -161,6 +259,10 @@ public abstract class GridVisualizer {
     return this.gridLineRule;
   }
 
+  protected boolean getCellStateDisplayRule() {
+    return this.cellStateDisplayRule;
+  }
+
   /**
    * Method which redefines whether gridLines should be added to the grid.Called to handle user
    * input.
@@ -184,6 +286,9 @@ public abstract class GridVisualizer {
       Text stateTag = new Text(textCoordinate[0], textCoordinate[1], getCellStateString(c));
       stateTag.setId("stateTag");
       cellGroup.getChildren().add(stateTag);
+      if (stateTags != null) {
+        stateTags[myGrid.getIndex(c)] = stateTag;
+      }
     }
   }
 
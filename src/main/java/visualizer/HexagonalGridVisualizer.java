@@ -53,7 +53,7 @@ public class HexagonalGridVisualizer extends GridVisualizer {
     Group gridRoot = new Group();
 
     gridRoot.getChildren().add(arrangeCells());
-    return gridRoot;
+    return keepRoot(gridRoot);
   }
 
   @Override
@@ -64,8 +64,8 @@ public class HexagonalGridVisualizer extends GridVisualizer {
     for (int i = 0; i < getNumRows(); i++) {
       xPos = 0;
       for (int j = 0; j < getNumColumns(); j++) {
-        Coordinate c = new Coordinate(i, j);
-        cellGroup.getChildren().add(createCell(xPos, yPos, c));
+        Coordinate c = getGrid().getCoordinate(i, j);
+        addCell(cellGroup, c, createCell(xPos, yPos, c));
         addStateTagsToDisplay(xPos, yPos, j, c, cellGroup);
         xPos = xPos + cellWidth;
         if (j % 2 == 1) {
@@ -2,6 +2,7 @@ package visualizer;
 
 import cellsociety.Main;
 import java.io.File;
+import java.io.IOException;
 import java.util.ResourceBundle;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -9,8 +10,6 @@ import javafx.scene.control.MenuButton;
 import javafx.scene.control.MenuItem;
 import javafx.scene.layout.HBox;
 import javafx.stage.FileChooser;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 
 /**
  * This class extends the ControlPanel superclass, it is used to create the  menu bar controls,so
@@ -92,9 +91,7 @@ public class MenuBarControlPanel extends ControlPanel {
     MenuItem exportButton = makeMenuItem("exportCommand", e -> {
       try {
         exportGridToFile();
-      } catch (ParserConfigurationException ex) {
-        ex.printStackTrace();
-      } catch (TransformerException ex) {
+      } catch (IOException ex) {
         ex.printStackTrace();
       }
     });
@@ -125,7 +122,7 @@ public class MenuBarControlPanel extends ControlPanel {
     }
   }
 
-  private void exportGridToFile() throws ParserConfigurationException, TransformerException {
+  private void exportGridToFile() throws IOException {
     myAnimationPanel.pause();
     myMain.export();
   }
@@ -201,7 +198,9 @@ public class MenuBarControlPanel extends ControlPanel {
     MenuItem rectCellButton = makeMenuItem("rectCellCommand", e -> sv.changeGridType("Rectangle"));
     MenuItem hexCellButton = makeMenuItem("hexCellCommand", e -> sv.changeGridType("Hexagon"));
     MenuItem triCellButton = makeMenuItem("triCellCommand", e -> sv.changeGridType("Triangle"));
+    MenuItem canvasCellButton = makeMenuItem("canvasCellCommand",
+        e -> sv.changeGridType("Canvas"));
     return new MenuButton(getResourceBundle().getString("cellTypeChangePrompt"), null,
-        rectCellButton, hexCellButton, triCellButton);
+        rectCellButton, hexCellButton, triCellButton, canvasCellButton);
   }
 }
@@ -48,7 +48,7 @@ public class RectangleGridVisualizer extends GridVisualizer {
   public Group makeRoot() {
     Group gridRoot = new Group();
     gridRoot.getChildren().add(arrangeCells());
-    return gridRoot;
+    return keepRoot(gridRoot);
   }
 
   @Override
@@ -59,8 +59,8 @@ public class RectangleGridVisualizer extends GridVisualizer {
     for (int i = 0; i < getNumRows(); i++) {
       xPos = 0;
       for (int j = 0; j < getNumColumns(); j++) {
-        Coordinate c = new Coordinate(i, j);
-        cellGroup.getChildren().add(createCell(xPos, yPos, c));
+        Coordinate c = getGrid().getCoordinate(i, j);
+        addCell(cellGroup, c, createCell(xPos, yPos, c));
         addStateTagsToDisplay(xPos, yPos, j, c, cellGroup);
         xPos = xPos + cellWidth;
       }
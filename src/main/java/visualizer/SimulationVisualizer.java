@@ -1,10 +1,13 @@
 package visualizer;
 
+import Controller.SimulationRunner;
 import Model.Grid;
+import Model.GridSnapshot;
 import Model.Simulation;
 import cellsociety.Main;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.scene.Group;
@@ -22,6 +25,12 @@ import javafx.util.Duration;
  * of the grid. It depends on the <class>Main</class> to receive the necessary data. As well as the
  * <class>AnimationControlPanel</class>,<class>MenuBarControlPanel</class>,and
  * <class>GridVisualizer</class> to build the objects and functionalities necessary for the UI.
+ * <p>
+ * The simulation is stepped by a <class>SimulationRunner</class> on a thread of its own: the
+ * animation only asks it for steps, and the grid is drawn from the newest snapshot it published,
+ * checked on every pulse of the JavaFX thread, so a slow step never freezes the UI. Every frame
+ * of the animation can run several steps, or in turbo keep the simulation stepping as fast as it
+ * can, and only the last generation of each frame is drawn.
  *
  * @author Luka Mdivani
  */
@@ -34,6 +43,8 @@ public class SimulationVisualizer {
   public final String DEFAULT_LANGUAGE = "English";
   public final int GRID_WIDTH = 600;
   public final int GRID_HEIGHT = 500;
+  public final int CANVAS_CELL_COUNT = 100 * 100;
+  public static final long TURBO_STEPS_PER_FRAME = Long.MAX_VALUE;
   private final int SCENE_WIDTH;
   private final int SCENE_HEIGHT;
 
@@ -41,6 +52,9 @@ public class SimulationVisualizer {
   private final ResettableStage myStage;
   private Grid myGrid;
   private final Simulation mySimulation;
+  private SimulationRunner myRunner;
+  private GridSnapshot myFrame;
+  private long stepsPerFrame = 1;
   private BorderPane root;
   private Group gridGroup;
   private GridVisualizer gv;
@@ -80,7 +94,7 @@ public class SimulationVisualizer {
     myMain = main;
     myResources = ResourceBundle.getBundle(DEFAULT_RESOURCE_PACKAGE + DEFAULT_LANGUAGE);
     myStyle = stage.getCurrentStyle();
-    cellType = "Hexagon";
+    cellType = rows * columns > CANVAS_CELL_COUNT ? "Canvas" : "Hexagon";
   }
 
   /**
@@ -91,10 +105,12 @@ public class SimulationVisualizer {
    */
   public void setUpScene() {
     Timeline animation = new Timeline();
+    myRunner = new SimulationRunner(mySimulation);
+    myFrame = myRunner.pollSnapshot();
 
     chooseGridType(cellType);
     root = new BorderPane();
-    myAnimationPanel = new AnimationControlPanel(myResources, animation);
+    myAnimationPanel = new AnimationControlPanel(myResources, animation, myRunner);
     myMenuBarPanel = new MenuBarControlPanel(myResources, myMain, myAnimationPanel, myStage);
 
     createUIControls();
@@ -107,8 +123,8 @@ public class SimulationVisualizer {
     myMenuBarPanel.setStyleMode(myStyle);
 
     KeyFrame frame = new KeyFrame(Duration.millis(MILLISECOND_DELAY), e -> {
-      if (myAnimationPanel.getAnimationStatus()) {
-        myAnimationPanel.step(this);
+      if (myAnimationPanel.getAnimationStatus() && !myRunner.isBusy()) {
+        myRunner.requestSteps(stepsPerFrame);
       }
     });
 
@@ -116,6 +132,22 @@ public class SimulationVisualizer {
     animation.getKeyFrames().add(frame);
     animation.play();
 
+    AnimationTimer renderer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        GridSnapshot newFrame = myRunner.pollSnapshot();
+        if (newFrame != null) {
+          showFrame(newFrame);
+        }
+      }
+    };
+    renderer.start();
+    myStage.setOnHidden(e -> {
+      animation.stop();
+      renderer.stop();
+      myRunner.stop();
+    });
+
     myStage.setScene(scene);
     myStage.setTitle(TITLE);
     myStage.show();
@@ -135,21 +167,45 @@ public class SimulationVisualizer {
 
 
   /**
-   * Updates the simulation object, as well the graphical grid.
+   * Asks for the simulation to be stepped by one frame, or by a single step in turbo. The graphical
+   * grid is updated once the frame's snapshot is published.
    */
   public void updateGrid() {
-    mySimulation.update();
-    myGrid = mySimulation.getGrid();
+    myRunner.requestSteps(stepsPerFrame == TURBO_STEPS_PER_FRAME ? 1 : stepsPerFrame);
+  }
 
-    reRenderGrid();
+  /**
+   * Sets how many steps the simulation takes between two frames of the animation. Steps already
+   * requested under the previous setting are dropped.
+   *
+   * @param steps number of steps per frame, or <code>TURBO_STEPS_PER_FRAME</code> to step as fast
+   *              as possible while the animation plays.
+   */
+  public void setStepsPerFrame(long steps) {
+    myRunner.pause();
+    stepsPerFrame = steps;
+    myRunner.setSnapshotInterval(steps == TURBO_STEPS_PER_FRAME ? 1 : steps);
+  }
+
+  private void showFrame(GridSnapshot newFrame) {
+    myFrame = newFrame;
+    gv.setFrame(myFrame);
+    showGrid(gv.updateRoot());
   }
 
   private void reRenderGrid() {
-    root.getChildren().remove(gridGroup);
-    gridGroup = gv.makeRoot();
-    root.setRight(gridGroup);
-    scene.setRoot(root);
-    myStage.setScene(scene);
+    showGrid(gv.makeRoot());
+  }
+
+  // the scene is only touched when the visualizer made a new group rather than redrawing its own
+  private void showGrid(Group newGridGroup) {
+    if (newGridGroup != gridGroup) {
+      root.getChildren().remove(gridGroup);
+      gridGroup = newGridGroup;
+      root.setRight(gridGroup);
+      scene.setRoot(root);
+      myStage.setScene(scene);
+    }
   }
 
   /**
@@ -174,6 +230,10 @@ public class SimulationVisualizer {
    * @param gridType the string representing which grid type of grid to visualize.
    */
   public void chooseGridType(String gridType) {
+    // cells of about a pixel or less are only drawn by the canvas, which merges them into pixels
+    if (numRows > GRID_HEIGHT / 2 || numColumns > GRID_WIDTH / 2) {
+      gridType = "Canvas";
+    }
     switch (gridType) {
       default -> gv = new RectangleGridVisualizer(GRID_WIDTH, GRID_HEIGHT, numRows, numColumns,
           myGrid, defaultGridLineRule, defaultCellStateDisplay);
@@ -181,7 +241,10 @@ public class SimulationVisualizer {
           numColumns, myGrid, defaultGridLineRule, defaultCellStateDisplay);
       case "Hexagon" -> gv = new HexagonalGridVisualizer(GRID_WIDTH, GRID_HEIGHT, numRows,
           numColumns, myGrid, defaultGridLineRule, defaultCellStateDisplay);
+      case "Canvas" -> gv = new CanvasGridVisualizer(GRID_WIDTH, GRID_HEIGHT, numRows,
+          numColumns, myGrid, defaultGridLineRule, defaultCellStateDisplay);
     }
+    gv.setFrame(myFrame);
   }
 
   /**
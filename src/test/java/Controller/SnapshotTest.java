@@ -0,0 +1,170 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import Model.Grid;
+import Model.Simulation;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that a Spreading Fire run saved part way and loaded again takes the same steps as a run
+ * that never stopped, which needs the seed of its random draws and the step it was saved at, and
+ * that corrupt snapshots are reported as such
+ */
+class SnapshotTest {
+
+  private static final int SIZE = 60;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void seededRunResumesFromSnapshot() throws Exception {
+    Path file = writeFire("<seed>99</seed>");
+    XMLParser parser = new XMLParser();
+    Simulation straight = parser.createSimulation(parser.parseXML(file.toString()));
+    step(straight, 10);
+
+    Simulation resumed = resume(parser, file, 5, ".snapshot");
+    step(resumed, 5);
+
+    assertEquals(straight.getStepCount(), resumed.getStepCount());
+    assertArrayEquals(states(straight.getGrid()), states(resumed.getGrid()));
+  }
+
+  @Test
+  void unseededRunResumesWithItsSeed() throws Exception {
+    Path file = writeFire("");
+    XMLParser parser = new XMLParser();
+    Simulation straight = parser.createSimulation(parser.parseXML(file.toString()));
+    step(straight, 5);
+    parser.saveSnapshot(directory.resolve("fire.snapshot").toString());
+    XMLParser loader = new XMLParser();
+    Simulation resumed = loader.createSimulation(
+        loader.parseSnapshot(directory.resolve("fire.snapshot").toString()));
+    step(straight, 5);
+    step(resumed, 5);
+
+    assertArrayEquals(states(straight.getGrid()), states(resumed.getGrid()));
+  }
+
+  @Test
+  void seededRunResumesFromXml() throws Exception {
+    Path file = writeFire("<seed>99</seed>");
+    XMLParser parser = new XMLParser();
+    Simulation straight = parser.createSimulation(parser.parseXML(file.toString()));
+    step(straight, 10);
+
+    Simulation resumed = resume(parser, file, 5, ".xml");
+    step(resumed, 5);
+
+    assertEquals(straight.getStepCount(), resumed.getStepCount());
+    assertArrayEquals(states(straight.getGrid()), states(resumed.getGrid()));
+  }
+
+  @Test
+  void corruptSnapshotsAreRejected() throws Exception {
+    XMLParser parser = new XMLParser();
+    parser.createSimulation(parser.parseXML(writeFire("<seed>99</seed>").toString()));
+    Path saved = directory.resolve("fire.snapshot");
+    parser.saveSnapshot(saved.toString());
+    byte[] snapshot = Files.readAllBytes(saved);
+
+    for (int length : new int[]{0, 4, 16, 17, 19, 20, snapshot.length - 1}) {
+      assertCorrupt(ByteBuffer.wrap(snapshot, 0, length).slice(), "truncated to " + length);
+    }
+    for (int bitsPerCell : new int[]{0, 3, 16, -1}) {
+      assertCorrupt(ByteBuffer.wrap(snapshot.clone()).put(6, (byte) bitsPerCell),
+          bitsPerCell + " bits per cell");
+    }
+    for (int rows : new int[]{0, -1, 1 << 16}) {
+      assertCorrupt(ByteBuffer.wrap(snapshot.clone()).putInt(8, rows).putInt(12, 1 << 16),
+          rows + " rows");
+    }
+    for (int parameters : new int[]{-1, 1 << 30}) {
+      assertCorrupt(ByteBuffer.wrap(snapshot.clone()).putInt(16, parameters),
+          parameters + " parameters");
+    }
+    for (short length : new short[]{-1, Short.MAX_VALUE}) {
+      assertCorrupt(ByteBuffer.wrap(snapshot.clone()).putShort(20, length),
+          "parameter of " + length + " bytes");
+    }
+  }
+
+  @Test
+  void snapshotStatesOutsideTheSimulationAreRejected() throws Exception {
+    XMLParser parser = new XMLParser();
+    parser.createSimulation(parser.parseXML(writeFire("<seed>99</seed>").toString()));
+    Path saved = directory.resolve("fire.snapshot");
+    parser.saveSnapshot(saved.toString());
+    byte[] snapshot = Files.readAllBytes(saved);
+    // two bits per cell, so a full byte holds code 3 where Spreading Fire has three states
+    snapshot[snapshot.length - 1] = (byte) 0xFF;
+    Files.write(saved, snapshot);
+
+    assertThrows(IOException.class, () -> new XMLParser().parseSnapshot(saved.toString()));
+  }
+
+  private void assertCorrupt(ByteBuffer contents, String name) throws IOException {
+    Path file = Files.createTempFile(directory, "corrupt", XMLParser.SNAPSHOT_EXTENSION);
+    byte[] bytes = new byte[contents.remaining()];
+    contents.duplicate().get(bytes);
+    Files.write(file, bytes);
+    assertThrows(IOException.class, () -> Snapshot.read(file), name);
+  }
+
+  // runs the file for some steps, saves it with the given extension and loads it back
+  private Simulation resume(XMLParser parser, Path file, int steps, String extension)
+      throws Exception {
+    step(parser.createSimulation(parser.parseXML(file.toString())), steps);
+    Path saved = directory.resolve("saved" + extension);
+    if (extension.equals(XMLParser.SNAPSHOT_EXTENSION)) {
+      parser.saveSnapshot(saved.toString());
+    } else {
+      try (Writer out = Files.newBufferedWriter(saved)) {
+        parser.saveGrid(out);
+      }
+    }
+    XMLParser loader = new XMLParser();
+    return loader.createSimulation(extension.equals(XMLParser.SNAPSHOT_EXTENSION)
+        ? loader.parseSnapshot(saved.toString()) : loader.parseXML(saved.toString()));
+  }
+
+  // a forest with one burning tree in the middle
+  private Path writeFire(String seedTag) throws Exception {
+    StringBuilder grid = new StringBuilder();
+    for (int row = 0; row < SIZE; row++) {
+      for (int column = 0; column < SIZE; column++) {
+        grid.append(row == SIZE / 2 && column == SIZE / 2 ? "1 " : "0 ");
+      }
+      grid.append('\n');
+    }
+    Path file = directory.resolve("fire.xml");
+    Files.writeString(file, "<data><type>SpreadingFire</type><probCatch>0.55</probCatch>"
+        + seedTag + "<numberOfRows>" + SIZE + "</numberOfRows><numberOfColumns>" + SIZE
+        + "</numberOfColumns><grid>" + grid + "</grid></data>");
+    return file;
+  }
+
+  private static void step(Simulation simulation, int steps) {
+    for (int i = 0; i < steps; i++) {
+      simulation.update();
+    }
+  }
+
+  private static byte[] states(Grid grid) {
+    byte[] states = new byte[grid.getNumberOfRows() * grid.getNumberOfColumns()];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = grid.getState(i);
+    }
+    return states;
+  }
+}
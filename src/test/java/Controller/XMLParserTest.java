@@ -0,0 +1,48 @@
+package Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import Model.HashLifeGameOfLife;
+import Model.Simulation;
+import Model.SpreadingFire;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that the tags choosing the engine and the random draws of a simulation are read the same
+ * way whatever whitespace surrounds them, and that engines the parser does not know are rejected
+ */
+class XMLParserTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void engineTagIsTrimmed() throws Exception {
+    assertTrue(create("GameOfLife", "<engine> HashLife </engine>") instanceof HashLifeGameOfLife);
+  }
+
+  @Test
+  void seedTagIsTrimmed() throws Exception {
+    assertEquals(99L, ((SpreadingFire) create("SpreadingFire", "<seed> 99 </seed>")).getSeed());
+  }
+
+  @Test
+  void unknownEnginesAreRejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> create("GameOfLife", "<engine>Hashlife</engine>"));
+  }
+
+  private Simulation create(String type, String tags) throws Exception {
+    Path file = directory.resolve(type + ".xml");
+    Files.writeString(file, "<data><type>" + type + "</type>" + tags
+        + "<numberOfRows>4</numberOfRows><numberOfColumns>4</numberOfColumns>"
+        + "<grid>0 0 0 0\n0 1 1 0\n0 1 1 0\n0 0 0 0</grid></data>");
+    XMLParser parser = new XMLParser();
+    return parser.createSimulation(parser.parseXML(file.toString()));
+  }
+}
@@ -0,0 +1,82 @@
+package Model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that every neighbor table lists each pair of neighbors from both sides, which
+ * `PercolationAnalyzer` relies on when it joins every cell to its neighbors
+ */
+class NeighborhoodTest {
+
+  private static final int[][] DIMENSIONS = {{53, 41}, {41, 53}, {40, 40}, {40, 41}, {41, 40},
+      {4, 4}, {3, 3}, {2, 6}, {2, 2}, {1, 5}, {1, 4}, {6, 1}, {1, 1}};
+
+  @Test
+  void everyNeighborListsTheCellBack() {
+    for (Neighborhood.Shape shape : Neighborhood.Shape.values()) {
+      for (Neighborhood.Edge edge : Neighborhood.Edge.values()) {
+        for (int[] dimensions : DIMENSIONS) {
+          Neighborhood neighborhood;
+          try {
+            neighborhood = new Neighborhood(dimensions[0], dimensions[1], shape, edge);
+          } catch (IllegalArgumentException e) {
+            continue;
+          }
+          assertSymmetric(neighborhood, dimensions[0] * dimensions[1],
+              shape + " " + edge + " " + dimensions[0] + "x" + dimensions[1]);
+        }
+      }
+    }
+  }
+
+  @Test
+  void toroidalEdgesKeepTheTilingOfEvenGrids() {
+    assertSymmetric(
+        new Neighborhood(40, 40, Neighborhood.Shape.HEXAGONAL, Neighborhood.Edge.TOROIDAL), 1600,
+        "HEXAGONAL TOROIDAL 40x40");
+    assertSymmetric(
+        new Neighborhood(41, 40, Neighborhood.Shape.HEXAGONAL, Neighborhood.Edge.TOROIDAL), 1640,
+        "HEXAGONAL TOROIDAL 41x40");
+    assertSymmetric(
+        new Neighborhood(40, 40, Neighborhood.Shape.TRIANGULAR, Neighborhood.Edge.TOROIDAL), 1600,
+        "TRIANGULAR TOROIDAL 40x40");
+  }
+
+  @Test
+  void edgesThatBreakTheTilingAreRejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new Neighborhood(53, 41, Neighborhood.Shape.HEXAGONAL, Neighborhood.Edge.TOROIDAL));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Neighborhood(53, 40, Neighborhood.Shape.TRIANGULAR, Neighborhood.Edge.TOROIDAL));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Neighborhood(40, 41, Neighborhood.Shape.TRIANGULAR, Neighborhood.Edge.TOROIDAL));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Neighborhood(40, 40, Neighborhood.Shape.HEXAGONAL, Neighborhood.Edge.REFLECTIVE));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Neighborhood(40, 40, Neighborhood.Shape.TRIANGULAR, Neighborhood.Edge.REFLECTIVE));
+  }
+
+  // a cell listed n times by another must list that other cell n times as well
+  private static void assertSymmetric(Neighborhood neighborhood, int cells, String name) {
+    for (int i = 0; i < cells; i++) {
+      for (int k = neighborhood.getStart(i); k < neighborhood.getEnd(i); k++) {
+        int j = neighborhood.getNeighbor(k);
+        assertEquals(count(neighborhood, i, j), count(neighborhood, j, i),
+            name + ": cells " + i + " and " + j);
+      }
+    }
+  }
+
+  private static int count(Neighborhood neighborhood, int index, int neighbor) {
+    int count = 0;
+    for (int k = neighborhood.getStart(index); k < neighborhood.getEnd(index); k++) {
+      if (neighborhood.getNeighbor(k) == neighbor) {
+        count++;
+      }
+    }
+    return count;
+  }
+}